@@ -27,6 +27,7 @@ val kubeVersionRange: String by project
 plugins {
     id("dev.architectury.loom") version "0.12.0-SNAPSHOT"
     id("com.github.gmazzo.buildconfig") version "3.0.3"
+    id("me.champeau.jmh") version "0.6.8"
     java
     idea
     eclipse
@@ -60,6 +61,7 @@ loom {
 }
 
 repositories {
+    mavenCentral()
     maven("https://maven.parchmentmc.org/")
     maven("https://dvs1.progwml6.com/files/maven/")
     maven("https://maven.saps.dev/minecraft")
@@ -93,6 +95,25 @@ dependencies {
             println("Extra mod $mod with version $version detected")
             modLocalRuntime("extra-mods:$mod:$version")
         }
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.9.1")
+}
+
+configurations {
+    // the core benchmarks only need the libraries the game ships, like fastutil
+    named("jmhCompileClasspath") { extendsFrom(compileClasspath.get()) }
+    named("jmhRuntimeClasspath") { extendsFrom(runtimeClasspath.get()) }
+}
+
+jmh {
+    jmhVersion.set("1.35")
+    // the synthetic stacks of the core benchmarks are shared with the tests
+    includeTests.set(true)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
 }
 
 tasks {
@@ -103,6 +124,9 @@ tasks {
     withType<GenerateModuleMetadata> {
         enabled = false
     }
+    test {
+        useJUnitPlatform()
+    }
     jar {
         manifest {
             attributes(
@@ -0,0 +1,89 @@
+package com.almostreliable.summoningrituals.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches synthetic inventories against a single recipe without any game classes loaded.
+ * About half of the inventories are shuffled permutations of the recipe inputs, the rest miss one input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RitualMatcherBenchmark {
+
+    private static final int ITEM_TYPES = 1_000;
+
+    @Param({"4", "16"})
+    private int inputCount;
+
+    @Param({"10000"})
+    private int inventoryCount;
+
+    private RitualMatcher<TestStack> matcher;
+    private TestStack catalyst;
+    private List<List<TestStack>> inventories;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        catalyst = new TestStack(0, 1);
+
+        List<TestIngredient> inputs = new ArrayList<>();
+        var counts = new int[inputCount];
+        for (var i = 0; i < inputCount; i++) {
+            var item = 1 + i * 2;
+            // every fourth input is a custom ingredient that has to be tested
+            inputs.add(i % 4 == 3 ? TestIngredient.custom(id -> id == item) : TestIngredient.exact(item, item + 1));
+            counts[i] = 1 + random.nextInt(8);
+        }
+        matcher = new RitualMatcher<>(TestStack.ACCESS, TestIngredient.exact(0), inputs, counts);
+
+        inventories = new ArrayList<>(inventoryCount);
+        for (var i = 0; i < inventoryCount; i++) {
+            List<TestStack> inventory = new ArrayList<>();
+            for (var input = 0; input < inputCount; input++) {
+                inventory.add(new TestStack(1 + input * 2, counts[input]));
+            }
+            if (random.nextBoolean()) {
+                inventory.set(random.nextInt(inputCount), new TestStack(random.nextInt(ITEM_TYPES), 64));
+            }
+            Collections.shuffle(inventory, random);
+            inventories.add(inventory);
+        }
+    }
+
+    @Benchmark
+    public void matches(Blackhole blackhole) {
+        for (var inventory : inventories) {
+            blackhole.consume(matcher.matches(catalyst, inventory));
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void matchesContended(Blackhole blackhole) {
+        matches(blackhole);
+    }
+
+    @Benchmark
+    public void plan(Blackhole blackhole) {
+        for (var inventory : inventories) {
+            blackhole.consume(matcher.plan(inventory));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.almostreliable.summoningrituals.core;
+
+import javax.annotation.ParametersAreNonnullByDefault;
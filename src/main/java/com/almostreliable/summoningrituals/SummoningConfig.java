@@ -0,0 +1,56 @@
+package com.almostreliable.summoningrituals;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.common.ForgeConfigSpec.IntValue;
+
+public final class SummoningConfig {
+
+    public static final ForgeConfigSpec SERVER_SPEC;
+    public static final Server SERVER;
+
+    static {
+        var server = new ForgeConfigSpec.Builder().configure(Server::new);
+        SERVER_SPEC = server.getRight();
+        SERVER = server.getLeft();
+    }
+
+    private SummoningConfig() {}
+
+    public static final class Server {
+
+        public final IntValue spawnsPerTick;
+        public final IntValue spawnTimeBudget;
+        public final IntValue ritualStartsPerTick;
+        public final IntValue ritualCompletionsPerTick;
+        public final IntValue ritualTimeBudget;
+
+        private Server(ForgeConfigSpec.Builder builder) {
+            builder.push("outputs");
+            spawnsPerTick = builder
+                .comment("The maximum number of ritual output entities spawned per level and tick.")
+                .defineInRange("spawnsPerTick", 16, 1, 1024);
+            spawnTimeBudget = builder
+                .comment(
+                    "The time in microseconds spawning ritual outputs may take per level and tick.",
+                    "At least one entity is spawned per tick, remaining outputs wait for the next tick."
+                )
+                .defineInRange("spawnTimeBudget", 2000, 100, 50_000);
+            builder.pop();
+
+            builder.push("rituals");
+            ritualStartsPerTick = builder
+                .comment("The maximum number of rituals started per tick across all altars of the server.")
+                .defineInRange("ritualStartsPerTick", 32, 1, 1024);
+            ritualCompletionsPerTick = builder
+                .comment("The maximum number of rituals completed per tick across all altars of the server.")
+                .defineInRange("ritualCompletionsPerTick", 32, 1, 1024);
+            ritualTimeBudget = builder
+                .comment(
+                    "The time in microseconds starting and completing rituals may take per tick.",
+                    "At least one ritual is admitted per tick, the remaining altars wait in order of arrival."
+                )
+                .defineInRange("ritualTimeBudget", 5000, 100, 50_000);
+            builder.pop();
+        }
+    }
+}
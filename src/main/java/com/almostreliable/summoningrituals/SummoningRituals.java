@@ -1,25 +1,51 @@
 package com.almostreliable.summoningrituals;
 
+import com.almostreliable.summoningrituals.altar.AltarRegistry;
 import com.almostreliable.summoningrituals.altar.AltarRenderer;
+import com.almostreliable.summoningrituals.altar.AltarScheduler;
+import com.almostreliable.summoningrituals.altar.OutputSpawner;
+import com.almostreliable.summoningrituals.altar.RitualGovernor;
+import com.almostreliable.summoningrituals.command.StatsCommand;
+import com.almostreliable.summoningrituals.network.AltarSyncBatcher;
 import com.almostreliable.summoningrituals.network.PacketHandler;
+import com.almostreliable.summoningrituals.recipe.AltarRecipeRegistry;
+import com.almostreliable.summoningrituals.util.EntityScanCache;
+import com.mojang.logging.LogUtils;
 import net.minecraft.client.renderer.ItemBlockRenderTypes;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderers;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TagsUpdatedEvent.UpdateCause;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.event.TickEvent.WorldTickEvent;
 import net.minecraftforge.event.entity.living.LivingDropsEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent.RightClickBlock;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.Event.Result;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.slf4j.Logger;
 
 import static com.almostreliable.summoningrituals.util.TextUtils.f;
 
 @Mod(BuildConfig.MOD_ID)
 public class SummoningRituals {
 
+    public static final Logger LOGGER = LogUtils.getLogger();
+
     public SummoningRituals() {
         var modEventBus = FMLJavaModLoadingContext.get().getModEventBus();
         modEventBus.addListener(SummoningRituals::onCommonSetup);
@@ -27,7 +53,17 @@ public class SummoningRituals {
         var forgeEventBus = MinecraftForge.EVENT_BUS;
         forgeEventBus.addListener(SummoningRituals::onRightClick);
         forgeEventBus.addListener(SummoningRituals::onLivingDrops);
+        forgeEventBus.addListener(SummoningRituals::onTagsUpdated);
+        forgeEventBus.addListener(SummoningRituals::onWorldTick);
+        forgeEventBus.addListener(SummoningRituals::onServerTick);
+        forgeEventBus.addListener(SummoningRituals::onWorldUnload);
+        forgeEventBus.addListener(SummoningRituals::onServerStopped);
+        forgeEventBus.addListener(SummoningRituals::onRegisterCommands);
+        if (FMLEnvironment.dist.isClient()) {
+            forgeEventBus.addListener(SummoningRituals::onRecipesUpdated);
+        }
         Setup.init(modEventBus);
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, SummoningConfig.SERVER_SPEC);
     }
 
     private static void onCommonSetup(FMLCommonSetupEvent event) {
@@ -59,4 +95,53 @@ public class SummoningRituals {
             event.setCanceled(true);
         }
     }
+
+    private static void onWorldTick(WorldTickEvent event) {
+        if (event.phase == Phase.END && event.world instanceof ServerLevel level) {
+            AltarScheduler.tick(level);
+            OutputSpawner.tick(level);
+        }
+    }
+
+    private static void onServerTick(ServerTickEvent event) {
+        if (event.phase != Phase.END) return;
+        AltarSyncBatcher.flush();
+        RitualGovernor.endTick();
+        EntityScanCache.clear();
+    }
+
+    private static void onWorldUnload(WorldEvent.Unload event) {
+        AltarScheduler.unload(event.getWorld());
+        AltarRegistry.unload(event.getWorld());
+        RitualGovernor.unload(event.getWorld());
+        OutputSpawner.unload(event.getWorld());
+        AltarSyncBatcher.unload(event.getWorld());
+        EntityScanCache.unload(event.getWorld());
+    }
+
+    private static void onServerStopped(ServerStoppedEvent event) {
+        RitualGovernor.clear();
+    }
+
+    private static void onRegisterCommands(RegisterCommandsEvent event) {
+        StatsCommand.register(event.getDispatcher());
+    }
+
+    private static void onRecipesUpdated(RecipesUpdatedEvent event) {
+        // the client keeps its recipe manager when recipes are synced, and they arrive after the tags
+        AltarRecipeRegistry.invalidate(true);
+    }
+
+    private static void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() == UpdateCause.CLIENT_PACKET_RECEIVED) {
+            AltarRecipeRegistry.invalidate(true);
+            return;
+        }
+        var server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            AltarRecipeRegistry.invalidate(false);
+        } else {
+            AltarRecipeRegistry.rebuild(server.getRecipeManager(), false);
+        }
+    }
 }
@@ -18,8 +18,6 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.SoundType;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition.Builder;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
@@ -82,19 +80,6 @@ public class AltarBlock extends Block implements EntityBlock {
         return new AltarEntity(pos, state);
     }
 
-    @Nullable
-    @Override
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(
-        Level level, BlockState state, BlockEntityType<T> type
-    ) {
-        if (level.isClientSide) return null;
-        return (entityLevel, entityState, entityType, entity) -> {
-            if (entity instanceof AltarEntity altar) {
-                altar.tick();
-            }
-        };
-    }
-
     @Override
     public void animateTick(BlockState state, Level level, BlockPos pos, Random random) {
         Vector3f[][] particlePos = MathUtils.getHorizontalVectors(
@@ -134,6 +119,16 @@ public class AltarBlock extends Block implements EntityBlock {
         super.playerWillDestroy(level, pos, state, player);
     }
 
+    @SuppressWarnings("deprecation")
+    @Override
+    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
+        // covers removals without a player, queued outputs would be lost with the block entity otherwise
+        if (!level.isClientSide && !state.is(newState.getBlock()) && level.getBlockEntity(pos) instanceof AltarEntity altar) {
+            altar.spawnPendingOutputs();
+        }
+        super.onRemove(state, level, pos, newState, isMoving);
+    }
+
     @Override
     protected void createBlockStateDefinition(Builder<Block, BlockState> builder) {
         super.createBlockStateDefinition(builder);
@@ -4,12 +4,9 @@ import com.almostreliable.summoningrituals.BuildConfig;
 import com.almostreliable.summoningrituals.Constants;
 import com.almostreliable.summoningrituals.Setup;
 import com.almostreliable.summoningrituals.inventory.AltarInventory;
-import com.almostreliable.summoningrituals.network.IPacket;
-import com.almostreliable.summoningrituals.network.PacketHandler;
-import com.almostreliable.summoningrituals.network.packet.ProcessTimeUpdatePacket;
-import com.almostreliable.summoningrituals.network.packet.ProgressUpdatePacket;
-import com.almostreliable.summoningrituals.network.packet.SacrificeParticlePacket;
+import com.almostreliable.summoningrituals.network.AltarSyncBatcher;
 import com.almostreliable.summoningrituals.recipe.AltarRecipe;
+import com.almostreliable.summoningrituals.recipe.AltarRecipeRegistry;
 import com.almostreliable.summoningrituals.recipe.component.BlockReference;
 import com.almostreliable.summoningrituals.recipe.component.RecipeSacrifices;
 import com.almostreliable.summoningrituals.util.GameUtils;
@@ -19,12 +16,14 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
+import net.minecraft.util.Mth;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.ItemStack;
@@ -33,7 +32,6 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.CapabilityItemHandler;
-import net.minecraftforge.network.PacketDistributor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -49,29 +47,60 @@ public class AltarEntity extends BlockEntity {
 
     final AltarInventory inventory;
     private final LazyOptional<AltarInventory> inventoryCap;
+    private final OutputQueue outputQueue;
 
     @Nullable private AltarRecipe currentRecipe;
     @Nullable private List<EntitySacrifice> sacrifices;
     @Nullable private ServerPlayer invokingPlayer;
     private int progress;
     private int processTime;
+    private long startTime;
+    private boolean startDeferred;
+
+    @Nullable private AltarRecipe matchedRecipe;
+    private ItemStack matchedCatalyst = ItemStack.EMPTY;
+    private long matchedVersion = -1;
+    private int matchedGeneration = -1;
 
     public AltarEntity(BlockPos pos, BlockState state) {
         super(Setup.ALTAR_ENTITY.get(), pos, state);
         inventory = new AltarInventory(this);
         inventoryCap = LazyOptional.of(() -> inventory);
+        outputQueue = new OutputQueue();
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        AltarRegistry.add(this);
+        wake();
+        if (!outputQueue.isEmpty()) OutputSpawner.schedule(this);
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        AltarScheduler.sleep(this);
+        OutputSpawner.remove(this);
+        AltarRegistry.remove(this);
+        RitualGovernor.remove(this);
     }
 
     @Override
     public void load(CompoundTag tag) {
         super.load(tag);
         if (tag.contains(Constants.INVENTORY)) inventory.deserializeNBT(tag.getCompound(Constants.INVENTORY));
+        outputQueue.deserializeNBT(tag.getList(Constants.PENDING_OUTPUTS, Tag.TAG_COMPOUND));
+        if (tag.contains(Constants.PROCESS_TIME)) {
+            setRitual(tag.getLong(Constants.START_TIME), tag.getInt(Constants.PROCESS_TIME));
+        }
     }
 
     @Override
     protected void saveAdditional(CompoundTag tag) {
         super.saveAdditional(tag);
         tag.put(Constants.INVENTORY, inventory.serializeNBT());
+        if (!outputQueue.isEmpty()) tag.put(Constants.PENDING_OUTPUTS, outputQueue.serializeNBT());
     }
 
     @Nullable
@@ -84,11 +113,18 @@ public class AltarEntity extends BlockEntity {
     public CompoundTag getUpdateTag() {
         var tag = super.getUpdateTag();
         saveAdditional(tag);
+        // players starting to track the chunk mid-ritual don't receive the start packet
+        if (progress > 0) {
+            tag.putLong(Constants.START_TIME, startTime);
+            tag.putInt(Constants.PROCESS_TIME, processTime);
+        }
         return tag;
     }
 
     public ItemStack handleInteraction(@Nullable ServerPlayer player, ItemStack stack) {
-        if (progress > 0) {
+        wake();
+        // a ritual is running as well while its start waits for admission
+        if (progress > 0 || currentRecipe != null) {
             TextUtils.sendPlayerMessage(player, Constants.PROGRESS, ChatFormatting.RED);
             return stack;
         }
@@ -100,7 +136,7 @@ public class AltarEntity extends BlockEntity {
             return ItemStack.EMPTY;
         }
 
-        if (AltarRecipe.CATALYST_CACHE.stream().anyMatch(ingredient -> ingredient.test(stack))) {
+        if (AltarRecipeRegistry.get(level).isCatalyst(stack)) {
             inventory.setCatalyst(new ItemStack(stack.getItem(), 1));
             var recipe = findRecipe();
             if (recipe == null) {
@@ -129,7 +165,8 @@ public class AltarEntity extends BlockEntity {
     @Nonnull
     @Override
     public <T> LazyOptional<T> getCapability(@Nonnull Capability<T> cap, @Nullable Direction side) {
-        if (!remove && cap.equals(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY) && progress == 0) {
+        if (!remove && cap.equals(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY) && progress == 0 &&
+            currentRecipe == null) {
             return inventoryCap.cast();
         }
         return super.getCapability(cap, side);
@@ -138,10 +175,45 @@ public class AltarEntity extends BlockEntity {
     void playerDestroy(boolean creative) {
         assert level != null && !level.isClientSide;
         inventory.dropContents();
+        spawnPendingOutputs();
         if (creative) return;
         GameUtils.dropItem(level, worldPosition, new ItemStack(Setup.ALTAR_ITEM.get()), true);
     }
 
+    /**
+     * Schedules the altar for ticking, it goes back to sleep on its own once it's no longer busy.
+     */
+    public void wake() {
+        AltarScheduler.wake(this);
+    }
+
+    boolean spawnNextOutput() {
+        if (!(level instanceof ServerLevel serverLevel) || !outputQueue.spawnNext(serverLevel, worldPosition)) {
+            return false;
+        }
+        setChanged();
+        return true;
+    }
+
+    /**
+     * Spawns all outputs that are still queued at once, used when the altar goes away.
+     */
+    void spawnPendingOutputs() {
+        if (!(level instanceof ServerLevel serverLevel) || outputQueue.isEmpty()) return;
+        while (outputQueue.spawnNext(serverLevel, worldPosition)) {
+            // spawn until the queue runs empty
+        }
+        OutputSpawner.remove(this);
+    }
+
+    boolean hasPendingOutputs() {
+        return !outputQueue.isEmpty();
+    }
+
+    boolean isBusy() {
+        return currentRecipe != null || !inventory.getCatalyst().isEmpty();
+    }
+
     void tick() {
         if (level == null) return;
 
@@ -156,55 +228,97 @@ public class AltarEntity extends BlockEntity {
         if (currentRecipe == null) return;
 
         if (progress >= currentRecipe.getRecipeTime()) {
-            if (inventory.handleRecipe(currentRecipe)) {
-                currentRecipe.getOutputs().handleRecipe((ServerLevel) level, worldPosition);
-                SUMMONING_COMPLETE.invoke(level, worldPosition, currentRecipe, invokingPlayer);
-                GameUtils.playSound(level, worldPosition, SoundEvents.EXPERIENCE_ORB_PICKUP);
-                resetSummoning(false);
-            } else {
-                TextUtils.sendPlayerMessage(invokingPlayer, Constants.INVALID, ChatFormatting.RED);
-                resetSummoning(true);
-            }
+            // denied altars stay busy and retry on their next tick
+            RitualGovernor.admitCompletion(this, this::completeRitual);
             return;
         }
 
         if (progress == 0) {
-            changeActivityState(true);
-            if (sacrifices != null && !sacrifices.isEmpty()) {
-                sacrifices.stream()
-                    .map(EntitySacrifice::kill)
-                    .filter(positions -> !positions.isEmpty())
-                    .forEach(positions -> trackingChunkPacket(new SacrificeParticlePacket(positions)));
+            if (!RitualGovernor.admitStart(this, this::startRitual)) {
+                startDeferred = true;
+                return;
             }
+            if (currentRecipe == null) return;
         }
         progress++;
-        trackingChunkPacket(new ProgressUpdatePacket(worldPosition, progress));
+        if (progress == 1) {
+            startTime = level.getGameTime() - progress;
+            AltarSyncBatcher.ritualStarted((ServerLevel) level, worldPosition, startTime, processTime);
+        }
+    }
+
+    /**
+     * A deferred start can happen any number of ticks after the ritual was accepted,
+     * so the altar contents and the sacrifices are checked again in that case.
+     */
+    private void startRitual() {
+        assert level != null && !level.isClientSide && currentRecipe != null && sacrifices != null;
+        if (startDeferred) {
+            if (!AltarRecipeRegistry.get(level).getMatcher(currentRecipe).matches(inventory.getVanillaInv())) {
+                TextUtils.sendPlayerMessage(invokingPlayer, Constants.INVALID, ChatFormatting.RED);
+                resetSummoning(true);
+                return;
+            }
+            sacrifices = findSacrifices(currentRecipe.getSacrifices(), invokingPlayer);
+            if (sacrifices == null) {
+                GameUtils.playSound(level, worldPosition, SoundEvents.CHAIN_BREAK);
+                resetSummoning(true);
+                return;
+            }
+        }
+        changeActivityState(true);
+        AltarRegistry.ritualStarted(this, currentRecipe.getId());
+        if (!sacrifices.isEmpty()) {
+            var serverLevel = (ServerLevel) level;
+            sacrifices.stream()
+                .map(EntitySacrifice::kill)
+                .filter(positions -> !positions.isEmpty())
+                .forEach(positions -> AltarSyncBatcher.sacrificed(serverLevel, worldPosition, positions));
+        }
+    }
+
+    private void completeRitual() {
+        assert level != null && !level.isClientSide && currentRecipe != null;
+        var matcher = AltarRecipeRegistry.get(level).getMatcher(currentRecipe);
+        if (matcher.matches(inventory.getVanillaInv()) && inventory.handleRecipe(matcher)) {
+            outputQueue.add(currentRecipe);
+            OutputSpawner.schedule(this);
+            SUMMONING_COMPLETE.invoke(level, worldPosition, currentRecipe, invokingPlayer);
+            GameUtils.playSound(level, worldPosition, SoundEvents.EXPERIENCE_ORB_PICKUP);
+            resetSummoning(false);
+        } else {
+            TextUtils.sendPlayerMessage(invokingPlayer, Constants.INVALID, ChatFormatting.RED);
+            resetSummoning(true);
+        }
     }
 
     private void resetSummoning(boolean popLastInserted) {
+        // clients only know about rituals that made progress
+        if (progress > 0 && level instanceof ServerLevel serverLevel) {
+            AltarSyncBatcher.ritualStopped(serverLevel, worldPosition);
+        }
+        if (currentRecipe != null) {
+            AltarRegistry.ritualStopped(this);
+            RitualGovernor.remove(this);
+        }
         currentRecipe = null;
         sacrifices = null;
         invokingPlayer = null;
         progress = 0;
-        trackingChunkPacket(new ProgressUpdatePacket(worldPosition, progress));
         processTime = 0;
-        trackingChunkPacket(new ProcessTimeUpdatePacket(worldPosition, processTime));
+        startTime = 0;
+        startDeferred = false;
         changeActivityState(false);
         if (popLastInserted) inventory.popLastInserted();
     }
 
-    private void trackingChunkPacket(IPacket<?> packet) {
-        if (level == null || level.isClientSide) return;
-        PacketHandler.CHANNEL.send(
-            PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(worldPosition)),
-            packet
-        );
-    }
-
     private void handleSummoning(AltarRecipe recipe, @Nullable ServerPlayer player) {
         assert level != null && !level.isClientSide;
 
-        sacrifices = checkSacrifices(recipe.getSacrifices(), player);
+        sacrifices = findSacrifices(recipe.getSacrifices(), player);
+        if (sacrifices == null) {
+            TextUtils.sendPlayerMessage(player, Constants.SACRIFICES, ChatFormatting.YELLOW);
+        }
         if (sacrifices == null ||
             !checkBlockBelow(recipe.getBlockBelow(), player) ||
             !recipe.getDayTime().check(level, player) ||
@@ -222,34 +336,35 @@ public class AltarEntity extends BlockEntity {
         invokingPlayer = player;
         processTime = recipe.getRecipeTime();
         GameUtils.playSound(level, worldPosition, SoundEvents.BEACON_ACTIVATE);
-        trackingChunkPacket(new ProcessTimeUpdatePacket(worldPosition, processTime));
     }
 
     @Nullable
     private AltarRecipe findRecipe() {
         assert level != null && !level.isClientSide;
-        var recipeManager = GameUtils.getRecipeManager(level);
-        return recipeManager.getRecipeFor(Setup.ALTAR_RECIPE.type().get(), inventory.getVanillaInv(), level)
-            .orElse(null);
+        var index = AltarRecipeRegistry.get(level);
+        var catalyst = inventory.getCatalyst();
+        if (matchedVersion == inventory.getVersion() && matchedGeneration == index.getGeneration() &&
+            ItemStack.isSameItemSameTags(matchedCatalyst, catalyst)) {
+            return matchedRecipe;
+        }
+        matchedRecipe = index.findRecipe(inventory.getVanillaInv(), inventory.getReachable(index));
+        matchedCatalyst = catalyst.copy();
+        matchedVersion = inventory.getVersion();
+        matchedGeneration = index.getGeneration();
+        return matchedRecipe;
     }
 
     @Nullable
-    private List<EntitySacrifice> checkSacrifices(RecipeSacrifices sacrifices, @Nullable ServerPlayer player) {
+    private List<EntitySacrifice> findSacrifices(RecipeSacrifices sacrifices, @Nullable ServerPlayer player) {
         assert level != null && !level.isClientSide;
         if (sacrifices.isEmpty()) return List.of();
-        var region = sacrifices.getRegion(worldPosition);
-        var entities = level.getEntities(player, region);
-        List<EntitySacrifice> toKill = new ArrayList<>();
-        var success = sacrifices.test(sacrifice -> {
-            var found = entities.stream().filter(sacrifice).toList();
-            if (found.size() < sacrifice.count()) {
-                TextUtils.sendPlayerMessage(player, Constants.SACRIFICES, ChatFormatting.YELLOW);
-                return false;
-            }
-            toKill.add(new EntitySacrifice(found, sacrifice.count()));
-            return true;
-        });
-        return success ? toKill : null;
+        var found = sacrifices.findEntities((ServerLevel) level, worldPosition, player);
+        if (found == null) return null;
+        List<EntitySacrifice> toKill = new ArrayList<>(found.size());
+        for (var i = 0; i < found.size(); i++) {
+            toKill.add(new EntitySacrifice(found.get(i), sacrifices.get(i).count()));
+        }
+        return toKill;
     }
 
     private boolean checkBlockBelow(@Nullable BlockReference blockBelow, @Nullable ServerPlayer player) {
@@ -273,16 +388,19 @@ public class AltarEntity extends BlockEntity {
         return processTime;
     }
 
-    public void setProcessTime(int processTime) {
-        this.processTime = processTime;
+    /**
+     * Derives the progress on the client from the level time, the server only syncs start and stop.
+     *
+     * @param partial the partial tick to interpolate between game ticks
+     */
+    float getProgress(float partial) {
+        if (level == null || processTime == 0) return 0;
+        return Mth.clamp(level.getGameTime() - startTime + partial, 0, processTime);
     }
 
-    int getProgress() {
-        return progress;
-    }
-
-    public void setProgress(int progress) {
-        this.progress = progress;
+    public void setRitual(long startTime, int processTime) {
+        this.startTime = startTime;
+        this.processTime = processTime;
     }
 
     private record EntitySacrifice(List<Entity> entities, int count) {
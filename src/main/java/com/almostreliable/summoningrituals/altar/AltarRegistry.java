@@ -0,0 +1,168 @@
+package com.almostreliable.summoningrituals.altar;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the loaded altars of every level, so they can be found without scanning block entities.
+ * <p>
+ * Altars join when they are loaded and leave when they are removed, which includes chunk unloads.
+ * They are indexed by chunk and, while a ritual is running, by the recipe of the ritual.
+ * All queries cost in the order of their result.
+ */
+public final class AltarRegistry {
+
+    private static final Map<ServerLevel, LevelAltars> ALTARS = new IdentityHashMap<>();
+
+    private AltarRegistry() {}
+
+    static void add(AltarEntity altar) {
+        if (altar.isRemoved() || !(altar.getLevel() instanceof ServerLevel level)) return;
+        ALTARS.computeIfAbsent(level, l -> new LevelAltars()).add(altar);
+    }
+
+    static void remove(AltarEntity altar) {
+        if (!(altar.getLevel() instanceof ServerLevel level)) return;
+        var altars = ALTARS.get(level);
+        if (altars != null) altars.remove(altar);
+    }
+
+    static void ritualStarted(AltarEntity altar, ResourceLocation recipeId) {
+        if (altar.isRemoved() || !(altar.getLevel() instanceof ServerLevel level)) return;
+        var altars = ALTARS.get(level);
+        if (altars != null) altars.ritualStarted(altar, recipeId);
+    }
+
+    static void ritualStopped(AltarEntity altar) {
+        if (!(altar.getLevel() instanceof ServerLevel level)) return;
+        var altars = ALTARS.get(level);
+        if (altars != null) altars.ritualStopped(altar);
+    }
+
+    public static void unload(LevelAccessor level) {
+        if (level instanceof ServerLevel serverLevel) ALTARS.remove(serverLevel);
+    }
+
+    /**
+     * @return the loaded altars whose block center is within the radius around the given position
+     */
+    public static List<AltarEntity> getAltarsInRadius(ServerLevel level, BlockPos center, double radius) {
+        var altars = ALTARS.get(level);
+        if (altars == null) return List.of();
+
+        List<AltarEntity> result = new ArrayList<>();
+        var radiusSqr = radius * radius;
+        var r = (int) Math.ceil(radius);
+        var minX = SectionPos.blockToSectionCoord(center.getX() - r);
+        var maxX = SectionPos.blockToSectionCoord(center.getX() + r);
+        var minZ = SectionPos.blockToSectionCoord(center.getZ() - r);
+        var maxZ = SectionPos.blockToSectionCoord(center.getZ() + r);
+        for (var x = minX; x <= maxX; x++) {
+            for (var z = minZ; z <= maxZ; z++) {
+                var inChunk = altars.byChunk.get(ChunkPos.asLong(x, z));
+                if (inChunk == null) continue;
+                for (var altar : inChunk) {
+                    if (altar.getBlockPos().distSqr(center) <= radiusSqr) result.add(altar);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the altars with a running ritual, the view is live and must not be modified
+     */
+    public static Collection<AltarEntity> getActiveAltars(ServerLevel level) {
+        var altars = ALTARS.get(level);
+        return altars == null ? List.of() : Collections.unmodifiableSet(altars.active.keySet());
+    }
+
+    /**
+     * @return the altars running a ritual of the given recipe, the view is live and must not be modified
+     */
+    public static Collection<AltarEntity> getAltarsByRecipe(ServerLevel level, ResourceLocation recipeId) {
+        var altars = ALTARS.get(level);
+        if (altars == null) return List.of();
+        var byRecipe = altars.byRecipe.get(recipeId);
+        return byRecipe == null ? List.of() : Collections.unmodifiableSet(byRecipe);
+    }
+
+    public static int getAltarCount() {
+        var count = 0;
+        for (var altars : ALTARS.values()) {
+            count += altars.size;
+        }
+        return count;
+    }
+
+    public static int getAltarCount(ServerLevel level) {
+        var altars = ALTARS.get(level);
+        return altars == null ? 0 : altars.size;
+    }
+
+    public static int getActiveCount() {
+        var count = 0;
+        for (var altars : ALTARS.values()) {
+            count += altars.active.size();
+        }
+        return count;
+    }
+
+    private static final class LevelAltars {
+
+        private final Long2ObjectMap<Set<AltarEntity>> byChunk = new Long2ObjectOpenHashMap<>();
+        private final Map<AltarEntity, ResourceLocation> active = new IdentityHashMap<>();
+        private final Map<ResourceLocation, Set<AltarEntity>> byRecipe = new HashMap<>();
+        private int size;
+
+        private void add(AltarEntity altar) {
+            var chunk = ChunkPos.asLong(altar.getBlockPos());
+            var inChunk = byChunk.get(chunk);
+            if (inChunk == null) {
+                inChunk = new LinkedHashSet<>();
+                byChunk.put(chunk, inChunk);
+            }
+            if (inChunk.add(altar)) size++;
+        }
+
+        private void remove(AltarEntity altar) {
+            ritualStopped(altar);
+            var chunk = ChunkPos.asLong(altar.getBlockPos());
+            var inChunk = byChunk.get(chunk);
+            if (inChunk == null || !inChunk.remove(altar)) return;
+            size--;
+            if (inChunk.isEmpty()) byChunk.remove(chunk);
+        }
+
+        private void ritualStarted(AltarEntity altar, ResourceLocation recipeId) {
+            ritualStopped(altar);
+            active.put(altar, recipeId);
+            byRecipe.computeIfAbsent(recipeId, id -> new LinkedHashSet<>()).add(altar);
+        }
+
+        private void ritualStopped(AltarEntity altar) {
+            var recipeId = active.remove(altar);
+            if (recipeId == null) return;
+            var altars = byRecipe.get(recipeId);
+            if (altars == null) return;
+            altars.remove(altar);
+            if (altars.isEmpty()) byRecipe.remove(recipeId);
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class AltarRenderer implements BlockEntityRenderer<AltarEntity> {
             var playerPos = mc.player.position();
             var playerAngle = Math.toDegrees(Math.atan2(altarPos.x - playerPos.x, playerPos.z - altarPos.z)) + 180;
 
-            var progress = entity.getProgress();
+            var progress = entity.getProgress(partial);
             var processTime = entity.getProcessTime();
 
             stack.translate(0, MAX_PROGRESS_HEIGHT * MathUtils.modifier(progress, processTime, 0), 0);
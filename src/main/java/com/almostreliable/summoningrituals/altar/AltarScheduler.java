@@ -0,0 +1,67 @@
+package com.almostreliable.summoningrituals.altar;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ticks the altars that have work to do, replacing the vanilla block entity ticker.
+ * <p>
+ * Altars are only awake while a catalyst is pending or a ritual is in progress. Idle altars are asleep
+ * and cost nothing per tick. They are woken by inventory changes, interactions and when their chunk loads.
+ */
+public final class AltarScheduler {
+
+    private static final Map<ServerLevel, Set<AltarEntity>> AWAKE = new IdentityHashMap<>();
+
+    private AltarScheduler() {}
+
+    static void wake(AltarEntity altar) {
+        if (altar.isRemoved() || !(altar.getLevel() instanceof ServerLevel level)) return;
+        AWAKE.computeIfAbsent(level, l -> new LinkedHashSet<>()).add(altar);
+    }
+
+    static void sleep(AltarEntity altar) {
+        if (!(altar.getLevel() instanceof ServerLevel level)) return;
+        var awake = AWAKE.get(level);
+        if (awake != null) awake.remove(altar);
+    }
+
+    public static void tick(ServerLevel level) {
+        var awake = AWAKE.get(level);
+        if (awake == null || awake.isEmpty()) return;
+
+        // altars can wake each other while ticking, e.g. by inserting items
+        for (var altar : awake.toArray(AltarEntity[]::new)) {
+            if (altar.isRemoved() || altar.getLevel() != level) {
+                awake.remove(altar);
+                continue;
+            }
+            if (!level.shouldTickBlocksAt(ChunkPos.asLong(altar.getBlockPos()))) continue;
+            altar.tick();
+            if (!altar.isBusy()) awake.remove(altar);
+        }
+    }
+
+    public static void unload(LevelAccessor level) {
+        if (level instanceof ServerLevel serverLevel) AWAKE.remove(serverLevel);
+    }
+
+    public static int getAwakeCount() {
+        var count = 0;
+        for (var awake : AWAKE.values()) {
+            count += awake.size();
+        }
+        return count;
+    }
+
+    public static int getAwakeCount(ServerLevel level) {
+        var awake = AWAKE.get(level);
+        return awake == null ? 0 : awake.size();
+    }
+}
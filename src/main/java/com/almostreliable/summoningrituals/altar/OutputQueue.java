@@ -0,0 +1,94 @@
+package com.almostreliable.summoningrituals.altar;
+
+import com.almostreliable.summoningrituals.Constants;
+import com.almostreliable.summoningrituals.SummoningRituals;
+import com.almostreliable.summoningrituals.recipe.AltarRecipe;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The outputs of completed rituals an altar still has to spawn, in completion order.
+ * <p>
+ * Entries only reference the recipe, so they can be saved with the altar and continue after a chunk reload.
+ * If the recipe is gone by the time an entry is spawned, the entry is dropped.
+ */
+final class OutputQueue {
+
+    private final Deque<PendingOutput> pending = new ArrayDeque<>();
+
+    void add(AltarRecipe recipe) {
+        var outputs = recipe.getOutputs();
+        for (var i = 0; i < outputs.size(); i++) {
+            var count = outputs.getSpawnCount(i);
+            if (count > 0) pending.add(new PendingOutput(recipe.getId(), i, count));
+        }
+    }
+
+    /**
+     * @return true if an entity was spawned, false if the queue ran empty
+     */
+    boolean spawnNext(ServerLevel level, BlockPos origin) {
+        while (!pending.isEmpty()) {
+            var next = pending.peek();
+            if (!(level.getRecipeManager().byKey(next.recipeId).orElse(null) instanceof AltarRecipe recipe) ||
+                next.output >= recipe.getOutputs().size()) {
+                SummoningRituals.LOGGER.warn("Dropping pending outputs of missing altar recipe {}", next.recipeId);
+                pending.poll();
+                continue;
+            }
+
+            var outputs = recipe.getOutputs();
+            var total = outputs.getSpawnCount(next.output);
+            if (next.remaining > total) next.remaining = total;
+            outputs.spawn(level, origin, next.output, total - next.remaining, recipe.getOutputSink());
+            if (--next.remaining <= 0) pending.poll();
+            return true;
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    ListTag serializeNBT() {
+        var list = new ListTag();
+        for (var output : pending) {
+            var tag = new CompoundTag();
+            tag.putString(Constants.RECIPE, output.recipeId.toString());
+            tag.putInt(Constants.OUTPUT, output.output);
+            tag.putInt(Constants.REMAINING, output.remaining);
+            list.add(tag);
+        }
+        return list;
+    }
+
+    void deserializeNBT(ListTag list) {
+        pending.clear();
+        for (var i = 0; i < list.size(); i++) {
+            var tag = list.getCompound(i);
+            var recipeId = ResourceLocation.tryParse(tag.getString(Constants.RECIPE));
+            if (recipeId == null || tag.getInt(Constants.REMAINING) <= 0) continue;
+            pending.add(new PendingOutput(recipeId, tag.getInt(Constants.OUTPUT), tag.getInt(Constants.REMAINING)));
+        }
+    }
+
+    private static final class PendingOutput {
+
+        private final ResourceLocation recipeId;
+        private final int output;
+        private int remaining;
+
+        private PendingOutput(ResourceLocation recipeId, int output, int remaining) {
+            this.recipeId = recipeId;
+            this.output = output;
+            this.remaining = remaining;
+        }
+    }
+}
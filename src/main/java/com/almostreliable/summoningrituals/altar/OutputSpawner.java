@@ -0,0 +1,79 @@
+package com.almostreliable.summoningrituals.altar;
+
+import com.almostreliable.summoningrituals.SummoningConfig;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.LevelAccessor;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the output spawning of completed rituals over multiple ticks.
+ * <p>
+ * Each level drains its altars in the order their rituals completed, and each altar drains its outputs in order.
+ * A tick stops spawning once the configured entity count or time budget is used up, the altar it stopped at
+ * moves to the back of the queue so all altars make progress. The pending outputs
+ * are stored in the altars themselves, unloaded altars leave the queue and rejoin when loaded again.
+ */
+public final class OutputSpawner {
+
+    private static final Map<ServerLevel, Set<AltarEntity>> QUEUED = new IdentityHashMap<>();
+
+    private OutputSpawner() {}
+
+    static void schedule(AltarEntity altar) {
+        if (altar.isRemoved() || !(altar.getLevel() instanceof ServerLevel level)) return;
+        QUEUED.computeIfAbsent(level, l -> new LinkedHashSet<>()).add(altar);
+    }
+
+    static void remove(AltarEntity altar) {
+        if (!(altar.getLevel() instanceof ServerLevel level)) return;
+        var queued = QUEUED.get(level);
+        if (queued != null) queued.remove(altar);
+    }
+
+    public static void tick(ServerLevel level) {
+        var queued = QUEUED.get(level);
+        if (queued == null || queued.isEmpty()) return;
+
+        var spawnBudget = SummoningConfig.SERVER.spawnsPerTick.get();
+        var deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(SummoningConfig.SERVER.spawnTimeBudget.get());
+        var spawned = 0;
+        var iterator = queued.iterator();
+        while (iterator.hasNext()) {
+            var altar = iterator.next();
+            if (altar.isRemoved() || altar.getLevel() != level) {
+                iterator.remove();
+                continue;
+            }
+            while (spawned < spawnBudget && (spawned == 0 || System.nanoTime() < deadline)) {
+                if (!altar.spawnNextOutput()) break;
+                spawned++;
+            }
+            if (!altar.hasPendingOutputs()) {
+                iterator.remove();
+                continue;
+            }
+            // the altar still has outputs, so the budget is used up
+            // it moves to the back so the altars behind it aren't starved
+            iterator.remove();
+            queued.add(altar);
+            return;
+        }
+    }
+
+    public static void unload(LevelAccessor level) {
+        if (level instanceof ServerLevel serverLevel) QUEUED.remove(serverLevel);
+    }
+
+    public static int getQueuedCount() {
+        var count = 0;
+        for (var queued : QUEUED.values()) {
+            count += queued.size();
+        }
+        return count;
+    }
+}
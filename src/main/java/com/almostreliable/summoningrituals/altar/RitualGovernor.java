@@ -0,0 +1,165 @@
+package com.almostreliable.summoningrituals.altar;
+
+import com.almostreliable.summoningrituals.SummoningConfig;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraftforge.common.ForgeConfigSpec.IntValue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the ritual starts and completions of all altars on the server per tick.
+ * <p>
+ * Starting a ritual kills its sacrifices and completing one consumes the inputs and queues the outputs.
+ * Altars fed by the same automation tend to do both in the same tick, so each stage has a cap per tick and
+ * both share a time budget. At least one stage transition is admitted per tick.
+ * <p>
+ * Denied altars queue up in order and stay busy, they retry on their next tick. At the end of every tick
+ * the head of each queue gets the capacity of the next tick reserved, which keeps newcomers from
+ * overtaking altars that already waited.
+ */
+public final class RitualGovernor {
+
+    private static final Gate START = new Gate(SummoningConfig.SERVER.ritualStartsPerTick);
+    private static final Gate COMPLETION = new Gate(SummoningConfig.SERVER.ritualCompletionsPerTick);
+
+    private static int admitted;
+    private static long spentNanos;
+    private static long deferrals;
+
+    private RitualGovernor() {}
+
+    static boolean admitStart(AltarEntity altar, Runnable start) {
+        return admit(START, altar, start);
+    }
+
+    static boolean admitCompletion(AltarEntity altar, Runnable completion) {
+        return admit(COMPLETION, altar, completion);
+    }
+
+    private static boolean admit(Gate gate, AltarEntity altar, Runnable work) {
+        var budget = TimeUnit.MICROSECONDS.toNanos(SummoningConfig.SERVER.ritualTimeBudget.get());
+        if (admitted > 0 && spentNanos >= budget) {
+            gate.queue.add(altar);
+            deferrals++;
+            return false;
+        }
+        if (!gate.tryAdmit(altar)) {
+            deferrals++;
+            return false;
+        }
+        admitted++;
+        var start = System.nanoTime();
+        work.run();
+        spentNanos += System.nanoTime() - start;
+        return true;
+    }
+
+    static void remove(AltarEntity altar) {
+        START.remove(altar);
+        COMPLETION.remove(altar);
+    }
+
+    public static void unload(LevelAccessor level) {
+        if (!(level instanceof ServerLevel serverLevel)) return;
+        START.unload(serverLevel);
+        COMPLETION.unload(serverLevel);
+    }
+
+    /**
+     * Forgets all altars and statistics, called when the server stops.
+     */
+    public static void clear() {
+        START.queue.clear();
+        START.reserved.clear();
+        COMPLETION.queue.clear();
+        COMPLETION.reserved.clear();
+        admitted = 0;
+        spentNanos = 0;
+        deferrals = 0;
+    }
+
+    /**
+     * Resets the caps and budget for the next tick and reserves it for the longest waiting altars.
+     * Altars in chunks that don't tick keep their place in the queue but get no reservation.
+     */
+    public static void endTick() {
+        admitted = 0;
+        spentNanos = 0;
+        START.endTick();
+        COMPLETION.endTick();
+    }
+
+    /**
+     * @return the number of altars waiting for admission
+     */
+    public static int getDeferredCount() {
+        return START.queue.size() + COMPLETION.queue.size();
+    }
+
+    /**
+     * @return the number of denied admissions since the server started
+     */
+    public static long getDeferralCount() {
+        return deferrals;
+    }
+
+    private static final class Gate {
+
+        private final IntValue cap;
+        private final Set<AltarEntity> queue = new LinkedHashSet<>();
+        private final Set<AltarEntity> reserved = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int admitted;
+
+        private Gate(IntValue cap) {
+            this.cap = cap;
+        }
+
+        private boolean tryAdmit(AltarEntity altar) {
+            if (queue.contains(altar)) {
+                if (!reserved.remove(altar)) return false;
+                queue.remove(altar);
+                admitted++;
+                return true;
+            }
+            if (admitted + reserved.size() >= cap.get()) {
+                queue.add(altar);
+                return false;
+            }
+            admitted++;
+            return true;
+        }
+
+        private void remove(AltarEntity altar) {
+            queue.remove(altar);
+            reserved.remove(altar);
+        }
+
+        private void unload(ServerLevel level) {
+            queue.removeIf(altar -> altar.getLevel() == level);
+            reserved.removeIf(altar -> altar.getLevel() == level);
+        }
+
+        private void endTick() {
+            admitted = 0;
+            reserved.clear();
+            var free = cap.get();
+            var iterator = queue.iterator();
+            while (free > 0 && iterator.hasNext()) {
+                var altar = iterator.next();
+                if (altar.isRemoved() || !(altar.getLevel() instanceof ServerLevel level)) {
+                    iterator.remove();
+                    continue;
+                }
+                if (!level.shouldTickBlocksAt(ChunkPos.asLong(altar.getBlockPos()))) continue;
+                reserved.add(altar);
+                free--;
+            }
+        }
+    }
+}
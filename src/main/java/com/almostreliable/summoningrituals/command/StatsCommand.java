@@ -0,0 +1,60 @@
+package com.almostreliable.summoningrituals.command;
+
+import com.almostreliable.summoningrituals.BuildConfig;
+import com.almostreliable.summoningrituals.Constants;
+import com.almostreliable.summoningrituals.altar.AltarRegistry;
+import com.almostreliable.summoningrituals.altar.AltarScheduler;
+import com.almostreliable.summoningrituals.altar.OutputSpawner;
+import com.almostreliable.summoningrituals.altar.RitualGovernor;
+import com.almostreliable.summoningrituals.network.AltarSyncBatcher;
+import com.almostreliable.summoningrituals.util.TextUtils;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+
+public final class StatsCommand {
+
+    private StatsCommand() {}
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(BuildConfig.MOD_ID)
+            .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+            .then(Commands.literal(Constants.STATS).executes(StatsCommand::stats)));
+    }
+
+    private static int stats(CommandContext<CommandSourceStack> context) {
+        var source = context.getSource();
+        source.sendSuccess(TextUtils.translateWithArgs(
+            Constants.COMMAND,
+            Constants.LOADED_ALTARS,
+            AltarRegistry.getAltarCount(),
+            AltarRegistry.getAltarCount(source.getLevel()),
+            AltarRegistry.getActiveCount()
+        ), false);
+        source.sendSuccess(TextUtils.translateWithArgs(
+            Constants.COMMAND,
+            Constants.AWAKE_ALTARS,
+            AltarScheduler.getAwakeCount(),
+            AltarScheduler.getAwakeCount(source.getLevel())
+        ), false);
+        source.sendSuccess(TextUtils.translateWithArgs(
+            Constants.COMMAND,
+            Constants.QUEUED_OUTPUTS,
+            OutputSpawner.getQueuedCount()
+        ), false);
+        source.sendSuccess(TextUtils.translateWithArgs(
+            Constants.COMMAND,
+            Constants.DEFERRED_RITUALS,
+            RitualGovernor.getDeferredCount(),
+            RitualGovernor.getDeferralCount()
+        ), false);
+        source.sendSuccess(TextUtils.translateWithArgs(
+            Constants.COMMAND,
+            Constants.BLOCK_ENTITY_SYNCS,
+            AltarSyncBatcher.getBlockEntitySyncs(),
+            AltarSyncBatcher.getBlockEntityChanges()
+        ), false);
+        return AltarScheduler.getAwakeCount();
+    }
+}
@@ -15,6 +15,7 @@ import dev.latvian.mods.kubejs.item.ingredient.IngredientJS;
 import dev.latvian.mods.kubejs.recipe.RecipeJS;
 import dev.latvian.mods.kubejs.util.ConsoleJS;
 import dev.latvian.mods.kubejs.util.ListJS;
+import net.minecraft.core.Direction;
 import net.minecraft.core.Vec3i;
 import net.minecraft.resources.ResourceLocation;
 
@@ -33,6 +34,7 @@ public class AltarRecipeJS extends RecipeJS {
     @Nullable private BlockReference blockBelow;
     private AltarRecipe.DAY_TIME dayTime = AltarRecipe.DAY_TIME.ANY;
     private AltarRecipe.WEATHER weather = AltarRecipe.WEATHER.ANY;
+    @Nullable private Direction outputSink;
 
     private boolean serialize;
 
@@ -79,6 +81,9 @@ public class AltarRecipeJS extends RecipeJS {
         if (weather != AltarRecipe.WEATHER.ANY) {
             json.addProperty(Constants.WEATHER, weather.name());
         }
+        if (outputSink != null) {
+            json.addProperty(Constants.OUTPUT_SINK, outputSink.getName());
+        }
         ConsoleJS.SERVER.debug("Altar Recipe: " + json.toString());
     }
 
@@ -145,4 +150,9 @@ public class AltarRecipeJS extends RecipeJS {
         this.weather = weather;
         return this;
     }
+
+    public AltarRecipeJS outputSink(Direction outputSink) {
+        this.outputSink = outputSink;
+        return this;
+    }
 }
@@ -0,0 +1,28 @@
+package com.almostreliable.summoningrituals.core;
+
+/**
+ * The amount to take from each slot to pay for a recipe. Every recipe input is paid by exactly one slot.
+ */
+public final class ConsumptionPlan {
+
+    private final int[] slots;
+    // the counts of the matcher, shared between all of its plans
+    private final int[] amounts;
+
+    ConsumptionPlan(int[] slots, int[] amounts) {
+        this.slots = slots;
+        this.amounts = amounts;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    public int getSlot(int index) {
+        return slots[index];
+    }
+
+    public int getAmount(int index) {
+        return amounts[index];
+    }
+}
@@ -0,0 +1,103 @@
+package com.almostreliable.summoningrituals.core;
+
+/**
+ * Remembers how much went into which slot so insertions can be undone in reverse order.
+ * <p>
+ * Entries are pairs of slot and count in an int ring buffer, the stacks themselves stay in the slots.
+ * Entries are addressed from the latest insertion, index 0 is the entry {@link #pop()} removes next.
+ */
+public final class InsertJournal {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    // slot and count of an entry are stored next to each other
+    private int[] entries = new int[INITIAL_CAPACITY * 2];
+    private int head;
+    private int size;
+
+    public void push(int slot, int count) {
+        ensureCapacity();
+        head = (head - 1) & (capacity() - 1);
+        set(0, slot, count);
+        size++;
+    }
+
+    /**
+     * Adds an entry that is older than all existing ones, used when restoring a journal.
+     */
+    public void append(int slot, int count) {
+        ensureCapacity();
+        set(size, slot, count);
+        size++;
+    }
+
+    /**
+     * Removes the latest entry, its values have to be read with {@link #getSlot(int)} and
+     * {@link #getCount(int)} beforehand.
+     */
+    public void pop() {
+        if (size == 0) throw new IllegalStateException("Journal is empty");
+        head = (head + 1) & (capacity() - 1);
+        size--;
+    }
+
+    /**
+     * Forgets the entries of a removed slot and shifts the entries of all following slots down.
+     */
+    public void removeSlot(int slot) {
+        var kept = 0;
+        for (var i = 0; i < size; i++) {
+            var entrySlot = getSlot(i);
+            if (entrySlot == slot) continue;
+            set(kept++, entrySlot > slot ? entrySlot - 1 : entrySlot, getCount(i));
+        }
+        size = kept;
+    }
+
+    public int getSlot(int index) {
+        return entries[physical(index)];
+    }
+
+    public int getCount(int index) {
+        return entries[physical(index) + 1];
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void set(int index, int slot, int count) {
+        var i = physical(index);
+        entries[i] = slot;
+        entries[i + 1] = count;
+    }
+
+    private int physical(int index) {
+        return ((head + index) & (capacity() - 1)) * 2;
+    }
+
+    private int capacity() {
+        return entries.length / 2;
+    }
+
+    private void ensureCapacity() {
+        if (size < capacity()) return;
+        var grown = new int[entries.length * 2];
+        // unwrap the ring, the entries keep their order from index 0 on
+        var start = head * 2;
+        var tail = entries.length - start;
+        System.arraycopy(entries, start, grown, 0, tail);
+        System.arraycopy(entries, 0, grown, tail, start);
+        entries = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.almostreliable.summoningrituals.core;
+
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A recipe ingredient. Exact ingredients are fully described by their item ids and are never tested,
+ * all other ingredients are tested against every stack.
+ *
+ * @param <S> the stack type
+ */
+public interface RitualIngredient<S> extends Predicate<S> {
+
+    /**
+     * @return whether the ingredient is fully described by {@link #itemIds()}
+     */
+    boolean isExact();
+
+    IntStream itemIds();
+}
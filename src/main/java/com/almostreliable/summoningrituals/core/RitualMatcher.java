@@ -0,0 +1,182 @@
+package com.almostreliable.summoningrituals.core;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assigns the stacks of an altar inventory to the inputs of a recipe.
+ * <p>
+ * Every input needs its own slot holding at least the required count. The assignment is a bipartite
+ * matching between slots and inputs, so overlapping ingredients can't steal slots from each other.
+ * Exact ingredients are resolved once into an item to input bitmask, only custom ingredients are tested.
+ *
+ * @param <S> the stack type
+ */
+public final class RitualMatcher<S> {
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private final StackAccess<S> access;
+    private final RitualIngredient<S> catalyst;
+    private final List<? extends RitualIngredient<S>> inputs;
+    private final int[] counts;
+    private final int words;
+    private final Int2ObjectMap<long[]> inputMasks;
+    private final long[] testedInputs;
+
+    public RitualMatcher(
+        StackAccess<S> access, RitualIngredient<S> catalyst, List<? extends RitualIngredient<S>> inputs, int[] counts
+    ) {
+        if (inputs.size() != counts.length) {
+            throw new IllegalArgumentException("Every input needs exactly one count");
+        }
+        this.access = access;
+        this.catalyst = catalyst;
+        this.inputs = List.copyOf(inputs);
+        this.counts = counts.clone();
+        words = Math.max(1, (counts.length + Long.SIZE - 1) / Long.SIZE);
+        inputMasks = new Int2ObjectOpenHashMap<>();
+        testedInputs = new long[words];
+
+        for (var i = 0; i < counts.length; i++) {
+            var input = i;
+            if (!this.inputs.get(i).isExact()) {
+                setBit(testedInputs, i);
+                continue;
+            }
+            this.inputs.get(i).itemIds()
+                .forEach(id -> setBit(inputMasks.computeIfAbsent(id, key -> new long[words]), input));
+        }
+    }
+
+    private static void setBit(long[] mask, int bit) {
+        mask[bit / Long.SIZE] |= 1L << bit;
+    }
+
+    private static boolean getBit(long[] mask, int bit) {
+        return (mask[bit / Long.SIZE] & 1L << bit) != 0;
+    }
+
+    public boolean matches(S catalystStack, List<S> stacks) {
+        if (access.isEmpty(catalystStack) || stacks.size() != counts.length || !catalyst.test(catalystStack)) {
+            return false;
+        }
+        return solve(stacks, WORKSPACE.get());
+    }
+
+    /**
+     * Finds a slot for every recipe input.
+     *
+     * @param stacks the altar inputs, each slot can satisfy at most one recipe input
+     * @return the slot index per recipe input or null if the inputs can't be satisfied
+     */
+    @Nullable
+    public int[] assign(List<S> stacks) {
+        var workspace = WORKSPACE.get();
+        if (!solve(stacks, workspace)) return null;
+
+        var slotOfInput = new int[counts.length];
+        for (var slot = 0; slot < stacks.size(); slot++) {
+            var input = workspace.inputOfSlot[slot];
+            if (input != -1) slotOfInput[input] = slot;
+        }
+        return slotOfInput;
+    }
+
+    /**
+     * Plans the consumption without touching the stacks. Failed attempts don't allocate.
+     *
+     * @return what to take from which slot to pay for the recipe or null if the inputs can't be satisfied
+     */
+    @Nullable
+    public ConsumptionPlan plan(List<S> stacks) {
+        var assignment = assign(stacks);
+        if (assignment == null) return null;
+        return new ConsumptionPlan(assignment, counts);
+    }
+
+    public RitualIngredient<S> getCatalyst() {
+        return catalyst;
+    }
+
+    public int getInputCount(int input) {
+        return counts[input];
+    }
+
+    private boolean solve(List<S> stacks, Workspace workspace) {
+        var slots = stacks.size();
+        if (slots < counts.length) return false;
+
+        workspace.prepare(slots, words);
+        for (var slot = 0; slot < slots; slot++) {
+            writeEdges(stacks.get(slot), workspace.edges, slot * words);
+        }
+        for (var input = 0; input < counts.length; input++) {
+            workspace.nextRound();
+            if (!augment(input, slots, workspace)) return false;
+        }
+        return true;
+    }
+
+    private void writeEdges(S stack, long[] edges, int offset) {
+        if (access.isEmpty(stack)) return;
+
+        var mask = inputMasks.get(access.getItemId(stack));
+        var count = access.getCount(stack);
+        for (var i = 0; i < counts.length; i++) {
+            if (count < counts[i]) continue;
+            if ((mask != null && getBit(mask, i)) || (getBit(testedInputs, i) && inputs.get(i).test(stack))) {
+                edges[offset + i / Long.SIZE] |= 1L << i;
+            }
+        }
+    }
+
+    private boolean augment(int input, int slots, Workspace workspace) {
+        for (var slot = 0; slot < slots; slot++) {
+            if (workspace.visited[slot] == workspace.round ||
+                (workspace.edges[slot * words + input / Long.SIZE] & 1L << input) == 0) {
+                continue;
+            }
+            workspace.visited[slot] = workspace.round;
+            var assigned = workspace.inputOfSlot[slot];
+            if (assigned == -1 || augment(assigned, slots, workspace)) {
+                workspace.inputOfSlot[slot] = input;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scratch space of the matching, reused per thread so attempts only allocate when they succeed.
+     */
+    private static final class Workspace {
+
+        private long[] edges = new long[0];
+        private int[] inputOfSlot = new int[0];
+        private int[] visited = new int[0];
+        private int round;
+
+        private void prepare(int slots, int words) {
+            if (edges.length < slots * words) edges = new long[slots * words];
+            if (inputOfSlot.length < slots) {
+                inputOfSlot = new int[slots];
+                visited = new int[slots];
+                round = 0;
+            }
+            Arrays.fill(edges, 0, slots * words, 0);
+            Arrays.fill(inputOfSlot, 0, slots, -1);
+        }
+
+        private void nextRound() {
+            if (++round == 0) {
+                Arrays.fill(visited, 0);
+                round = 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.almostreliable.summoningrituals.core;
+
+/**
+ * Read access to the stacks of a specific game or test environment.
+ *
+ * @param <S> the stack type
+ */
+public interface StackAccess<S> {
+
+    boolean isEmpty(S stack);
+
+    int getCount(S stack);
+
+    /**
+     * @return a small non-negative id of the item type, used as key for exact ingredients
+     */
+    int getItemId(S stack);
+}
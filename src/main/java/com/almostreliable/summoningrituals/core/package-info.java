@@ -0,0 +1,8 @@
+/**
+ * The ritual engine without any game dependencies. Stacks are opaque and only inspected through a
+ * {@link com.almostreliable.summoningrituals.core.StackAccess}, so everything in here runs on a plain JVM.
+ */
+@ParametersAreNonnullByDefault
+package com.almostreliable.summoningrituals.core;
+
+import javax.annotation.ParametersAreNonnullByDefault;
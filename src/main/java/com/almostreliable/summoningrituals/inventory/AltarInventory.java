@@ -2,49 +2,59 @@ package com.almostreliable.summoningrituals.inventory;
 
 import com.almostreliable.summoningrituals.Constants;
 import com.almostreliable.summoningrituals.altar.AltarEntity;
-import com.almostreliable.summoningrituals.recipe.AltarRecipe;
+import com.almostreliable.summoningrituals.core.InsertJournal;
+import com.almostreliable.summoningrituals.network.AltarSyncBatcher;
+import com.almostreliable.summoningrituals.recipe.AltarRecipeIndex;
+import com.almostreliable.summoningrituals.recipe.AltarRecipeMatcher;
+import com.almostreliable.summoningrituals.recipe.AltarRecipeRegistry;
 import com.almostreliable.summoningrituals.util.GameUtils;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
-import net.minecraft.util.Tuple;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.items.IItemHandlerModifiable;
 import net.minecraftforge.items.ItemHandlerHelper;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayDeque;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.BitSet;
 import java.util.List;
 
 import static com.almostreliable.summoningrituals.util.TextUtils.f;
 
 public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<CompoundTag> {
 
+    // key of the stack count written by ItemStack#save
+    private static final String LEGACY_COUNT = "Count";
+
     private final AltarEntity parent;
     private final AltarInvWrapper vanillaInv;
-    private final Deque<Tuple<ItemStack, Integer>> insertOrder;
+    private final InsertJournal insertOrder;
+    private final SlotIndex slotIndex;
     private List<ItemStack> items;
     private ItemStack catalyst;
+    private long version;
+    @Nullable private BitSet reachable;
+    private int reachableGeneration;
 
     public AltarInventory(AltarEntity parent) {
         this.parent = parent;
         vanillaInv = new AltarInvWrapper(this);
         items = new ArrayList<>();
         catalyst = ItemStack.EMPTY;
-        insertOrder = new ArrayDeque<>();
+        insertOrder = new InsertJournal();
+        slotIndex = new SlotIndex();
     }
 
     @Override
     public CompoundTag serializeNBT() {
-        var insertList = new ListTag();
-        for (var insert : insertOrder) {
-            var insertTag = new CompoundTag();
-            insert.getA().save(insertTag);
-            insertTag.putInt(Constants.SLOT, insert.getB());
-            insertList.add(insertTag);
+        var insertList = new int[insertOrder.size() * 2];
+        for (var i = 0; i < insertOrder.size(); i++) {
+            insertList[i * 2] = insertOrder.getSlot(i);
+            insertList[i * 2 + 1] = insertOrder.getCount(i);
         }
         var itemList = new ListTag();
         for (var slot = 0; slot < items.size(); slot++) {
@@ -56,7 +66,7 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
             }
         }
         var tag = new CompoundTag();
-        tag.put(Constants.INSERT_ORDER, insertList);
+        tag.putIntArray(Constants.INSERT_ORDER, insertList);
         tag.putInt(Constants.SIZE, items.size());
         tag.put(Constants.ITEMS, itemList);
         tag.put(Constants.CATALYST, catalyst.serializeNBT());
@@ -65,12 +75,7 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
 
     @Override
     public void deserializeNBT(CompoundTag tag) {
-        var insertList = tag.getList(Constants.INSERT_ORDER, Tag.TAG_COMPOUND);
-        insertOrder.clear();
-        for (var insertTag : insertList) {
-            var stack = ItemStack.of((CompoundTag) insertTag);
-            insertOrder.add(new Tuple<>(stack, ((CompoundTag) insertTag).getInt(Constants.SLOT)));
-        }
+        readInsertOrder(tag, insertOrder);
         items = new ArrayList<>();
         for (var i = 0; i < tag.getInt(Constants.SIZE); i++) {
             items.add(ItemStack.EMPTY);
@@ -83,6 +88,28 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
             }
         }
         catalyst = ItemStack.of(tag.getCompound(Constants.CATALYST));
+        slotIndex.rebuild(items);
+        reachable = null;
+        version++;
+    }
+
+    /**
+     * Restores the insert journal from both the current format and the legacy format that stored
+     * a copy of every inserted stack. Legacy counts are read from the raw stack tag.
+     */
+    static void readInsertOrder(CompoundTag tag, InsertJournal journal) {
+        journal.clear();
+        if (tag.contains(Constants.INSERT_ORDER, Tag.TAG_LIST)) {
+            for (var insertTag : tag.getList(Constants.INSERT_ORDER, Tag.TAG_COMPOUND)) {
+                var stackTag = (CompoundTag) insertTag;
+                journal.append(stackTag.getInt(Constants.SLOT), stackTag.getByte(LEGACY_COUNT));
+            }
+            return;
+        }
+        var insertList = tag.getIntArray(Constants.INSERT_ORDER);
+        for (var i = 0; i + 1 < insertList.length; i += 2) {
+            journal.append(insertList[i], insertList[i + 1]);
+        }
     }
 
     @Override
@@ -92,34 +119,45 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
             setCatalyst(stack);
             return;
         }
+        slotIndex.remove(slot, items.get(slot));
         items.set(slot, stack);
-        onContentsChanged();
+        slotIndex.add(slot, stack);
+        reachable = null;
+        onInputsChanged();
     }
 
     public ItemStack handleInsertion(ItemStack stack) {
         if (stack.isEmpty()) return ItemStack.EMPTY;
+        narrowReachable(stack);
 
-        var remaining = stack;
-        for (var i = 0; i < items.size(); i++) {
-            remaining = insertItem(i, remaining);
-            if (remaining.isEmpty()) {
-                insertOrder.push(new Tuple<>(stack, i));
-                return ItemStack.EMPTY;
-            }
-            if (remaining.getCount() == stack.getCount()) {
-                continue;
-            }
-            stack.shrink(remaining.getCount());
-            insertOrder.push(new Tuple<>(stack.copy(), i));
-            return remaining;
+        var candidates = slotIndex.getSlots(stack).iterator();
+        while (candidates.hasNext()) {
+            var slot = candidates.nextInt();
+            var remaining = insertItem(slot, stack);
+            if (remaining.getCount() != stack.getCount()) return finishInsertion(stack, remaining, slot);
+        }
+        var emptySlot = slotIndex.getFirstEmpty();
+        if (emptySlot >= 0) {
+            return finishInsertion(stack, insertItem(emptySlot, stack), emptySlot);
         }
 
         items.add(stack);
-        insertOrder.push(new Tuple<>(stack.copy(), items.size() - 1));
-        onContentsChanged();
+        slotIndex.add(items.size() - 1, stack);
+        insertOrder.push(items.size() - 1, stack.getCount());
+        onInputsChanged();
         return ItemStack.EMPTY;
     }
 
+    private ItemStack finishInsertion(ItemStack stack, ItemStack remaining, int slot) {
+        if (remaining.isEmpty()) {
+            insertOrder.push(slot, stack.getCount());
+            return ItemStack.EMPTY;
+        }
+        insertOrder.push(slot, stack.getCount() - remaining.getCount());
+        stack.shrink(remaining.getCount());
+        return remaining;
+    }
+
     public void popLastInserted() {
         assert parent.getLevel() != null && !parent.getLevel().isClientSide;
 
@@ -130,15 +168,22 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
             return;
         }
 
-        if (insertOrder.isEmpty()) return;
-        var last = insertOrder.pop();
-        var stack = last.getA();
-        int slot = last.getB();
-        items.get(slot).shrink(stack.getCount());
+        // entries can outlive their items when slots are extracted from, those are skipped
+        var stack = ItemStack.EMPTY;
+        var slot = -1;
+        while (stack.isEmpty() && !insertOrder.isEmpty()) {
+            slot = insertOrder.getSlot(0);
+            var count = insertOrder.getCount(0);
+            insertOrder.pop();
+            if (slot < 0 || slot >= items.size()) continue;
+            stack = items.get(slot).split(count);
+        }
+        if (stack.isEmpty()) return;
         if (items.get(slot).isEmpty()) {
             trimInventory();
         }
-        onContentsChanged();
+        reachable = null;
+        onInputsChanged();
         GameUtils.dropItem(parent.getLevel(), parent.getBlockPos(), stack, true);
     }
 
@@ -155,35 +200,26 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
         }
     }
 
-    public boolean handleRecipe(AltarRecipe recipe) {
-        var oldItems = new ArrayList<>(items);
-        var toRemove = 0;
-        var removed = 0;
-        for (var input : recipe.getInputs()) {
-            toRemove += input.count();
-            var inputRemoved = 0;
-            for (var stack : items) {
-                if (stack.isEmpty() || !input.ingredient().test(stack)) continue;
-                var shrinkCount = Math.min(input.count() - inputRemoved, stack.getCount());
-                stack.shrink(shrinkCount);
-                inputRemoved += shrinkCount;
-                if (inputRemoved >= input.count()) break;
-            }
-            removed += inputRemoved;
-        }
-        if (removed < toRemove) {
-            items = oldItems;
-            return false;
+    /**
+     * Plans the consumption without touching the inventory and commits the plan in one pass.
+     *
+     * @return false if the inputs no longer satisfy the recipe, the inventory is left untouched then
+     */
+    public boolean handleRecipe(AltarRecipeMatcher matcher) {
+        var plan = matcher.plan(items);
+        if (plan == null) return false;
+        for (var i = 0; i < plan.size(); i++) {
+            items.get(plan.getSlot(i)).shrink(plan.getAmount(i));
         }
         catalyst = ItemStack.EMPTY;
         rebuildInsertOrder();
-        onContentsChanged();
+        reachable = null;
+        onInputsChanged();
         return true;
     }
 
     private ItemStack insertItem(int slot, ItemStack stack) {
         if (stack.isEmpty()) return ItemStack.EMPTY;
-        if (!isItemValid(slot, stack)) return stack;
         validateSlot(slot);
 
         var current = items.get(slot);
@@ -196,11 +232,13 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
 
         var reachedLimit = stack.getCount() > limit;
         if (current.isEmpty()) {
+            slotIndex.remove(slot, current);
             items.set(slot, reachedLimit ? ItemHandlerHelper.copyStackWithSize(stack, limit) : stack);
+            slotIndex.add(slot, items.get(slot));
         } else {
             current.grow(reachedLimit ? limit : stack.getCount());
         }
-        onContentsChanged();
+        onInputsChanged();
 
         return reachedLimit ? ItemHandlerHelper.copyStackWithSize(stack, stack.getCount() - limit) : ItemStack.EMPTY;
     }
@@ -209,20 +247,70 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
         insertOrder.clear();
         trimInventory();
         for (var i = items.size() - 1; i >= 0; i--) {
-            insertOrder.add(new Tuple<>(items.get(i).copy(), i));
+            insertOrder.append(i, items.get(i).getCount());
         }
     }
 
     private void trimInventory() {
+        var trimmed = false;
         for (var i = items.size() - 1; i >= 0; i--) {
-            if (items.get(i).isEmpty()) items.remove(i);
+            if (items.get(i).isEmpty()) {
+                items.remove(i);
+                insertOrder.removeSlot(i);
+                trimmed = true;
+            }
+        }
+        // removing slots shifts the ones behind them
+        if (trimmed) slotIndex.rebuild(items);
+    }
+
+    /**
+     * @return the recipes the current inputs can still lead to, shrinks with every inserted item type
+     */
+    public BitSet getReachable(AltarRecipeIndex index) {
+        if (reachable == null || reachableGeneration != index.getGeneration()) {
+            reachable = index.getReachable(items);
+            reachableGeneration = index.getGeneration();
         }
+        return reachable;
+    }
+
+    /**
+     * Lets automation check whether inserting the stack can still lead to a recipe. The handler itself
+     * accepts everything, so existing setups keep working.
+     *
+     * @return whether the stack is a catalyst or an input of any recipe that is still reachable
+     */
+    public boolean canAccept(ItemStack stack) {
+        var index = getRecipeIndex();
+        return index.isCatalyst(stack) || index.accepts(getReachable(index), stack);
+    }
+
+    private void narrowReachable(ItemStack stack) {
+        if (reachable == null) return;
+        var index = getRecipeIndex();
+        if (reachableGeneration == index.getGeneration()) {
+            index.narrow(reachable, stack);
+        } else {
+            reachable = null;
+        }
+    }
+
+    private AltarRecipeIndex getRecipeIndex() {
+        return AltarRecipeRegistry.get(parent.getLevel());
+    }
+
+    private void onInputsChanged() {
+        version++;
+        onContentsChanged();
     }
 
     private void onContentsChanged() {
         parent.setChanged();
-        if (parent.getLevel() == null || parent.getLevel().isClientSide) return;
-        parent.getLevel().sendBlockUpdated(parent.getBlockPos(), parent.getBlockState(), parent.getBlockState(), 1 | 2);
+        parent.wake();
+        if (parent.getLevel() instanceof ServerLevel level) {
+            AltarSyncBatcher.blockEntityChanged(level, parent.getBlockPos());
+        }
     }
 
     private void validateSlot(int slot) {
@@ -270,15 +358,20 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
 
         if (current.getCount() <= toExtract) {
             if (!simulate) {
+                slotIndex.remove(slot, current);
                 items.set(slot, ItemStack.EMPTY);
-                onContentsChanged();
+                slotIndex.add(slot, ItemStack.EMPTY);
+                reachable = null;
+                onInputsChanged();
                 return current;
             }
             return current.copy();
         }
         if (!simulate) {
+            // same item and tag, the index stays valid
             items.set(slot, ItemHandlerHelper.copyStackWithSize(current, current.getCount() - toExtract));
-            onContentsChanged();
+            reachable = null;
+            onInputsChanged();
         }
 
         return ItemHandlerHelper.copyStackWithSize(current, toExtract);
@@ -303,6 +396,13 @@ public class AltarInventory implements IItemHandlerModifiable, INBTSerializable<
         return items;
     }
 
+    /**
+     * @return a stamp that increases with every change of the inputs, the catalyst is not covered
+     */
+    public long getVersion() {
+        return version;
+    }
+
     public ItemStack getCatalyst() {
         return catalyst;
     }
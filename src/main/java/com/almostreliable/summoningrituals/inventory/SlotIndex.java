@@ -0,0 +1,75 @@
+package com.almostreliable.summoningrituals.inventory;
+
+import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSets;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maps the item and tag hash of the stacks in an altar inventory to the slots holding them, plus the empty slots.
+ * <p>
+ * The index narrows down the slots a stack can merge with, it doesn't replace the actual merge check
+ * since tag hashes can collide and capabilities aren't covered. Stacks must be removed from the index
+ * before they are changed in a way that affects their key.
+ */
+final class SlotIndex {
+
+    private final Map<Key, IntSortedSet> slots = new HashMap<>();
+    private final BitSet empty = new BitSet();
+
+    void rebuild(List<ItemStack> items) {
+        slots.clear();
+        empty.clear();
+        for (var slot = 0; slot < items.size(); slot++) {
+            add(slot, items.get(slot));
+        }
+    }
+
+    void add(int slot, ItemStack stack) {
+        if (stack.isEmpty()) {
+            empty.set(slot);
+            return;
+        }
+        slots.computeIfAbsent(Key.of(stack), key -> new IntAVLTreeSet()).add(slot);
+    }
+
+    void remove(int slot, ItemStack stack) {
+        if (stack.isEmpty()) {
+            empty.clear(slot);
+            return;
+        }
+        var key = Key.of(stack);
+        var keySlots = slots.get(key);
+        if (keySlots == null) return;
+        keySlots.remove(slot);
+        if (keySlots.isEmpty()) slots.remove(key);
+    }
+
+    /**
+     * @return the slots, in ascending order, holding stacks the given stack could merge with
+     */
+    IntSortedSet getSlots(ItemStack stack) {
+        var keySlots = slots.get(Key.of(stack));
+        return keySlots == null ? IntSortedSets.EMPTY_SET : keySlots;
+    }
+
+    /**
+     * @return the first empty slot or -1 if there is none
+     */
+    int getFirstEmpty() {
+        return empty.nextSetBit(0);
+    }
+
+    private record Key(Item item, int tagHash) {
+        private static Key of(ItemStack stack) {
+            return new Key(stack.getItem(), Objects.hashCode(stack.getTag()));
+        }
+    }
+}
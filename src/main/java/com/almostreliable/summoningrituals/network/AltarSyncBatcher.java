@@ -0,0 +1,124 @@
+package com.almostreliable.summoningrituals.network;
+
+import com.almostreliable.summoningrituals.network.packet.AltarSyncPacket;
+import com.almostreliable.summoningrituals.network.packet.AltarSyncPacket.RitualState;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.Block;
+import net.minecraftforge.network.PacketDistributor;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects altar state changes during the server tick and sends them as one packet per chunk at the end of it.
+ * Only the latest ritual state per altar is kept, sacrifice positions are accumulated.
+ * <p>
+ * Changed block entities are marked as well and get a single client update per tick, however often they changed.
+ */
+public final class AltarSyncBatcher {
+
+    private static final Map<ServerLevel, Long2ObjectMap<Batch>> PENDING = new IdentityHashMap<>();
+
+    private static long blockEntityChanges;
+    private static long blockEntitySyncs;
+
+    private AltarSyncBatcher() {}
+
+    public static void ritualStarted(ServerLevel level, BlockPos pos, long startTime, int processTime) {
+        getBatch(level, pos).rituals.put(pos, new RitualState(pos, startTime, processTime));
+    }
+
+    public static void ritualStopped(ServerLevel level, BlockPos pos) {
+        getBatch(level, pos).rituals.put(pos, new RitualState(pos, 0, 0));
+    }
+
+    public static void sacrificed(ServerLevel level, BlockPos altarPos, List<BlockPos> positions) {
+        getBatch(level, altarPos).sacrifices.addAll(positions);
+    }
+
+    /**
+     * Marks the block entity at the position for a client update at the end of the tick.
+     */
+    public static void blockEntityChanged(ServerLevel level, BlockPos pos) {
+        blockEntityChanges++;
+        getBatch(level, pos).changedBlockEntities.add(pos);
+    }
+
+    public static void flush() {
+        if (PENDING.isEmpty()) return;
+        for (var entry : PENDING.entrySet()) {
+            var level = entry.getKey();
+            for (var batch : entry.getValue().long2ObjectEntrySet()) {
+                syncBlockEntities(level, batch.getValue().changedBlockEntities);
+                if (!batch.getValue().hasPacket()) continue;
+                var chunkPos = new ChunkPos(batch.getLongKey());
+                // the chunk may have unloaded since, it must not be loaded again just to send to nobody
+                var chunk = level.getChunkSource().getChunkNow(chunkPos.x, chunkPos.z);
+                if (chunk == null) continue;
+                PacketHandler.CHANNEL.send(
+                    PacketDistributor.TRACKING_CHUNK.with(() -> chunk),
+                    batch.getValue().toPacket()
+                );
+            }
+        }
+        PENDING.clear();
+    }
+
+    private static void syncBlockEntities(ServerLevel level, Set<BlockPos> positions) {
+        for (var pos : positions) {
+            if (!level.isLoaded(pos)) continue;
+            var state = level.getBlockState(pos);
+            // clients only, the contents of an altar don't concern its neighbors
+            level.sendBlockUpdated(pos, state, state, Block.UPDATE_CLIENTS);
+            blockEntitySyncs++;
+        }
+    }
+
+    /**
+     * @return the number of block entity changes since the server started
+     */
+    public static long getBlockEntityChanges() {
+        return blockEntityChanges;
+    }
+
+    /**
+     * @return the number of block entity updates sent to clients since the server started
+     */
+    public static long getBlockEntitySyncs() {
+        return blockEntitySyncs;
+    }
+
+    public static void unload(LevelAccessor level) {
+        if (level instanceof ServerLevel serverLevel) PENDING.remove(serverLevel);
+    }
+
+    private static Batch getBatch(ServerLevel level, BlockPos pos) {
+        return PENDING.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>())
+            .computeIfAbsent(ChunkPos.asLong(pos), chunk -> new Batch());
+    }
+
+    private static final class Batch {
+
+        private final Map<BlockPos, RitualState> rituals = new LinkedHashMap<>();
+        private final List<BlockPos> sacrifices = new ArrayList<>();
+        private final Set<BlockPos> changedBlockEntities = new LinkedHashSet<>();
+
+        private boolean hasPacket() {
+            return !rituals.isEmpty() || !sacrifices.isEmpty();
+        }
+
+        private AltarSyncPacket toPacket() {
+            return new AltarSyncPacket(List.copyOf(rituals.values()), sacrifices);
+        }
+    }
+}
@@ -1,26 +1,29 @@
 package com.almostreliable.summoningrituals.network;
 
 import com.almostreliable.summoningrituals.altar.AltarEntity;
-import com.almostreliable.summoningrituals.network.packet.ProcessTimeUpdatePacket;
-import com.almostreliable.summoningrituals.network.packet.ProgressUpdatePacket;
-import com.almostreliable.summoningrituals.network.packet.SacrificeParticlePacket;
+import com.almostreliable.summoningrituals.network.packet.AltarSyncPacket;
 import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.particles.ParticleTypes;
 
+import java.util.List;
 import java.util.Random;
 
 public final class ClientHandler {
 
     private ClientHandler() {}
 
-    public static void handleProgressUpdate(ProgressUpdatePacket packet, ClientLevel level) {
-        if (!(level.getBlockEntity(packet.getPos()) instanceof AltarEntity altar)) return;
-        altar.setProgress(packet.getProgress());
+    public static void handleAltarSync(AltarSyncPacket packet, ClientLevel level) {
+        for (var ritual : packet.getRituals()) {
+            if (!(level.getBlockEntity(ritual.pos()) instanceof AltarEntity altar)) continue;
+            altar.setRitual(ritual.startTime(), ritual.processTime());
+        }
+        if (!packet.getSacrifices().isEmpty()) spawnSacrificeParticles(packet.getSacrifices(), level);
     }
 
-    public static void handleSacrificeParticle(SacrificeParticlePacket packet, ClientLevel level) {
+    private static void spawnSacrificeParticles(List<BlockPos> positions, ClientLevel level) {
         var random = new Random();
-        for (var pos : packet.getPositions()) {
+        for (var pos : positions) {
             for (var i = 0; i < 10; i++) {
                 level.addParticle(
                     ParticleTypes.SOUL,
@@ -34,9 +37,4 @@ public final class ClientHandler {
             }
         }
     }
-
-    public static void handleProcessTimeUpdate(ProcessTimeUpdatePacket packet, ClientLevel level) {
-        if (!(level.getBlockEntity(packet.getPos()) instanceof AltarEntity altar)) return;
-        altar.setProcessTime(packet.getProcessTime());
-    }
 }
@@ -1,9 +1,7 @@
 package com.almostreliable.summoningrituals.network;
 
 import com.almostreliable.summoningrituals.Constants;
-import com.almostreliable.summoningrituals.network.packet.ProcessTimeUpdatePacket;
-import com.almostreliable.summoningrituals.network.packet.ProgressUpdatePacket;
-import com.almostreliable.summoningrituals.network.packet.SacrificeParticlePacket;
+import com.almostreliable.summoningrituals.network.packet.AltarSyncPacket;
 import com.almostreliable.summoningrituals.util.TextUtils;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.network.NetworkRegistry;
@@ -12,7 +10,7 @@ import net.minecraftforge.network.simple.SimpleChannel;
 public final class PacketHandler {
 
     private static final ResourceLocation ID = TextUtils.getRL(Constants.NETWORK);
-    private static final String PROTOCOL = "1";
+    private static final String PROTOCOL = "3";
     public static final SimpleChannel CHANNEL = NetworkRegistry.ChannelBuilder.named(ID)
         .networkProtocolVersion(() -> PROTOCOL)
         .clientAcceptedVersions(PROTOCOL::equals)
@@ -25,9 +23,7 @@ public final class PacketHandler {
     public static void init() {
         var packetId = -1;
         // server to client
-        register(++packetId, ProgressUpdatePacket.class, new ProgressUpdatePacket());
-        register(++packetId, ProcessTimeUpdatePacket.class, new ProcessTimeUpdatePacket());
-        register(++packetId, SacrificeParticlePacket.class, new SacrificeParticlePacket());
+        register(++packetId, AltarSyncPacket.class, new AltarSyncPacket());
     }
 
     private static <T> void register(int packetId, Class<T> clazz, IPacket<T> packet) {
@@ -0,0 +1,77 @@
+package com.almostreliable.summoningrituals.network.packet;
+
+import com.almostreliable.summoningrituals.network.ClientHandler;
+import com.almostreliable.summoningrituals.network.ServerToClientPacket;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All altar state changes of a single chunk within one server tick.
+ */
+public class AltarSyncPacket extends ServerToClientPacket<AltarSyncPacket> {
+
+    private final List<RitualState> rituals;
+    private final List<BlockPos> sacrifices;
+
+    public AltarSyncPacket(List<RitualState> rituals, List<BlockPos> sacrifices) {
+        this.rituals = rituals;
+        this.sacrifices = sacrifices;
+    }
+
+    public AltarSyncPacket() {
+        this(List.of(), List.of());
+    }
+
+    @Override
+    public void encode(AltarSyncPacket packet, FriendlyByteBuf buffer) {
+        buffer.writeVarInt(packet.rituals.size());
+        for (var ritual : packet.rituals) {
+            buffer.writeBlockPos(ritual.pos());
+            buffer.writeVarInt(ritual.processTime());
+            if (ritual.processTime() > 0) buffer.writeVarLong(ritual.startTime());
+        }
+        buffer.writeVarInt(packet.sacrifices.size());
+        for (var pos : packet.sacrifices) {
+            buffer.writeBlockPos(pos);
+        }
+    }
+
+    @Override
+    public AltarSyncPacket decode(FriendlyByteBuf buffer) {
+        var ritualCount = buffer.readVarInt();
+        List<RitualState> rituals = new ArrayList<>(ritualCount);
+        for (var i = 0; i < ritualCount; i++) {
+            var pos = buffer.readBlockPos();
+            var processTime = buffer.readVarInt();
+            rituals.add(new RitualState(pos, processTime > 0 ? buffer.readVarLong() : 0, processTime));
+        }
+        var sacrificeCount = buffer.readVarInt();
+        List<BlockPos> sacrifices = new ArrayList<>(sacrificeCount);
+        for (var i = 0; i < sacrificeCount; i++) {
+            sacrifices.add(buffer.readBlockPos());
+        }
+        return new AltarSyncPacket(rituals, sacrifices);
+    }
+
+    @Override
+    protected void handlePacket(AltarSyncPacket packet, ClientLevel level) {
+        ClientHandler.handleAltarSync(packet, level);
+    }
+
+    public List<RitualState> getRituals() {
+        return rituals;
+    }
+
+    public List<BlockPos> getSacrifices() {
+        return sacrifices;
+    }
+
+    /**
+     * The latest ritual state of an altar, a process time of 0 means the ritual stopped.
+     */
+    public record RitualState(BlockPos pos, long startTime, int processTime) {}
+}
@@ -8,6 +8,7 @@ import com.almostreliable.summoningrituals.recipe.component.RecipeOutputs;
 import com.almostreliable.summoningrituals.recipe.component.RecipeSacrifices;
 import com.almostreliable.summoningrituals.util.TextUtils;
 import net.minecraft.ChatFormatting;
+import net.minecraft.core.Direction;
 import net.minecraft.core.NonNullList;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
@@ -19,15 +20,9 @@ import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 public class AltarRecipe implements Recipe<AltarInvWrapper> {
 
-    public static final Set<Ingredient> CATALYST_CACHE = new HashSet<>();
-
     private final ResourceLocation recipeId;
     private final Ingredient catalyst;
     private final RecipeOutputs outputs;
@@ -37,11 +32,12 @@ public class AltarRecipe implements Recipe<AltarInvWrapper> {
     @Nullable private final BlockReference blockBelow;
     private final DAY_TIME dayTime;
     private final WEATHER weather;
+    @Nullable private final Direction outputSink;
 
     AltarRecipe(
         ResourceLocation recipeId, Ingredient catalyst, RecipeOutputs outputs, NonNullList<IngredientStack> inputs,
         RecipeSacrifices sacrifices, int recipeTime, @Nullable BlockReference blockBelow, DAY_TIME dayTime,
-        WEATHER weather
+        WEATHER weather, @Nullable Direction outputSink
     ) {
         this.recipeId = recipeId;
         this.outputs = outputs;
@@ -52,31 +48,12 @@ public class AltarRecipe implements Recipe<AltarInvWrapper> {
         this.blockBelow = blockBelow;
         this.dayTime = dayTime;
         this.weather = weather;
+        this.outputSink = outputSink;
     }
 
     @Override
     public boolean matches(AltarInvWrapper inv, Level level) {
-        if (inv.getCatalyst().isEmpty() || inv.getInputs().size() != this.inputs.size() || !catalyst.test(inv.getCatalyst())) {
-            return false;
-        }
-
-        var matchedItems = new Ingredient[inv.getContainerSize()];
-        List<Ingredient> matchedIngredients = new ArrayList<>();
-
-        for (var slot = 0; slot < inv.getInputs().size(); slot++) {
-            var stack = inv.getInputs().get(slot);
-            if (!stack.isEmpty() && matchedItems[slot] == null) {
-                for (var input : inputs) {
-                    if (!matchedIngredients.contains(input.ingredient()) && input.ingredient()
-                        .test(stack) && stack.getCount() >= input.count()) {
-                        matchedItems[slot] = input.ingredient();
-                        matchedIngredients.add(input.ingredient());
-                    }
-                }
-            }
-        }
-
-        return matchedIngredients.size() == inputs.size();
+        return AltarRecipeRegistry.get(level).getMatcher(this).matches(inv);
     }
 
     @Override
@@ -147,6 +124,14 @@ public class AltarRecipe implements Recipe<AltarInvWrapper> {
         return weather;
     }
 
+    /**
+     * @return the side of the altar whose inventory receives the item outputs, null to spawn them
+     */
+    @Nullable
+    public Direction getOutputSink() {
+        return outputSink;
+    }
+
     public enum WEATHER {
         ANY,
         CLEAR,
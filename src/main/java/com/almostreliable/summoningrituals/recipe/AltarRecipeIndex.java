@@ -0,0 +1,218 @@
+package com.almostreliable.summoningrituals.recipe;
+
+import com.almostreliable.summoningrituals.Setup;
+import com.almostreliable.summoningrituals.SummoningRituals;
+import com.almostreliable.summoningrituals.inventory.AltarInvWrapper;
+import com.google.common.base.Stopwatch;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.RecipeManager;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps catalyst items to the altar recipes they can start. Recipes with NBT-sensitive or custom
+ * catalysts can't be resolved ahead of time and end up in a fallback bucket that is part of every lookup.
+ * <p>
+ * Catalyst membership is a bitset over item registry ids, only the residual custom catalysts are tested.
+ * All ingredients are compiled against the tags bound at construction, see {@link CompiledIngredient}.
+ * Recipes are addressed by their position in the recipe manager, which allows altars to narrow down
+ * the recipes their inputs can still lead to with plain bitset intersections.
+ * <p>
+ * Instances are immutable once constructed and are published through {@link AltarRecipeRegistry}.
+ */
+public final class AltarRecipeIndex {
+
+    private final RecipeManager recipeManager;
+    private final int generation;
+    private final List<AltarRecipe> recipes;
+    private final Map<Item, int[]> byCatalyst;
+    private final int[] fallback;
+    private final BitSet catalystItems;
+    private final List<CompiledIngredient> residualCatalysts;
+    private final Map<Item, BitSet> byInput;
+    private final BitSet customInputs;
+    private final Map<AltarRecipe, AltarRecipeMatcher> matchers;
+
+    AltarRecipeIndex(RecipeManager recipeManager, int generation) {
+        this.recipeManager = recipeManager;
+        this.generation = generation;
+        recipes = List.copyOf(recipeManager.getAllRecipesFor(Setup.ALTAR_RECIPE.type().get()));
+
+        var stopwatch = Stopwatch.createStarted();
+        // ingredients fill their stack cache lazily and create item stacks, so recipes are resolved on this thread
+        var resolved = recipes.stream().map(ResolvedRecipe::new).toList();
+        var resolveTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+        stopwatch.reset().start();
+
+        Map<Item, IntList> buckets = new IdentityHashMap<>();
+        for (var recipe : resolved) {
+            if (recipe.catalystItems == null) continue;
+            for (var item : recipe.catalystItems) {
+                buckets.computeIfAbsent(item, i -> new IntArrayList());
+            }
+        }
+
+        IntList fallbackRecipes = new IntArrayList();
+        for (var i = 0; i < resolved.size(); i++) {
+            var catalystItems = resolved.get(i).catalystItems;
+            if (catalystItems == null) {
+                fallbackRecipes.add(i);
+                for (var bucket : buckets.values()) {
+                    bucket.add(i);
+                }
+                continue;
+            }
+            for (var item : catalystItems) {
+                var bucket = buckets.get(item);
+                if (bucket.isEmpty() || bucket.getInt(bucket.size() - 1) != i) bucket.add(i);
+            }
+        }
+
+        byCatalyst = new IdentityHashMap<>();
+        buckets.forEach((item, bucket) -> byCatalyst.put(item, bucket.toIntArray()));
+        fallback = fallbackRecipes.toIntArray();
+
+        catalystItems = new BitSet();
+        byCatalyst.keySet().forEach(item -> catalystItems.set(Item.getId(item)));
+        residualCatalysts = fallbackRecipes.intStream()
+            .mapToObj(i -> resolved.get(i).matcher.getCatalyst())
+            .toList();
+
+        byInput = new IdentityHashMap<>();
+        customInputs = new BitSet();
+        matchers = new IdentityHashMap<>();
+        for (var i = 0; i < resolved.size(); i++) {
+            var recipe = resolved.get(i);
+            if (recipe.customInputs) customInputs.set(i);
+            for (var item : recipe.inputItems) {
+                byInput.computeIfAbsent(item, key -> new BitSet()).set(i);
+            }
+            matchers.put(recipe.recipe, recipe.matcher);
+        }
+        byInput.values().forEach(accepting -> accepting.or(customInputs));
+        var mergeTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
+        SummoningRituals.LOGGER.info(
+            "Built altar recipe index for {} recipes in {} ms (resolve: {} ms, merge: {} ms)",
+            recipes.size(),
+            resolveTime + mergeTime,
+            resolveTime,
+            mergeTime
+        );
+    }
+
+    public boolean isCatalyst(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+        if (catalystItems.get(Item.getId(stack.getItem()))) return true;
+        for (var catalyst : residualCatalysts) {
+            if (catalyst.test(stack)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param inv       the altar inventory with the catalyst in place
+     * @param reachable the recipes the altar inputs can still lead to, see {@link #getReachable(List)}
+     */
+    @Nullable
+    public AltarRecipe findRecipe(AltarInvWrapper inv, BitSet reachable) {
+        return findRecipe(inv.getCatalyst(), inv.getInputs(), reachable);
+    }
+
+    @Nullable
+    public AltarRecipe findRecipe(ItemStack catalyst, List<ItemStack> inputs, BitSet reachable) {
+        if (catalyst.isEmpty()) return null;
+        for (var i : byCatalyst.getOrDefault(catalyst.getItem(), fallback)) {
+            if (!reachable.get(i)) continue;
+            var recipe = recipes.get(i);
+            if (getMatcher(recipe).matches(catalyst, inputs)) return recipe;
+        }
+        return null;
+    }
+
+    /**
+     * Collects the recipes which have an input for every given stack.
+     * The result is owned by the caller and can be narrowed down further with {@link #narrow(BitSet, ItemStack)}.
+     */
+    public BitSet getReachable(List<ItemStack> stacks) {
+        var reachable = new BitSet(recipes.size());
+        reachable.set(0, recipes.size());
+        for (var stack : stacks) {
+            narrow(reachable, stack);
+        }
+        return reachable;
+    }
+
+    public void narrow(BitSet reachable, ItemStack stack) {
+        if (stack.isEmpty()) return;
+        reachable.and(byInput.getOrDefault(stack.getItem(), customInputs));
+    }
+
+    public boolean accepts(BitSet reachable, ItemStack stack) {
+        if (stack.isEmpty()) return false;
+        return reachable.intersects(byInput.getOrDefault(stack.getItem(), customInputs));
+    }
+
+    public AltarRecipeMatcher getMatcher(AltarRecipe recipe) {
+        var matcher = matchers.get(recipe);
+        return matcher == null ? new AltarRecipeMatcher(recipe) : matcher;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    RecipeManager getRecipeManager() {
+        return recipeManager;
+    }
+
+    /**
+     * Everything a recipe contributes to the index that can be computed without looking at other recipes.
+     */
+    private static final class ResolvedRecipe {
+
+        private final AltarRecipe recipe;
+        @Nullable private final Set<Item> catalystItems;
+        private final Set<Item> inputItems;
+        private final boolean customInputs;
+        private final AltarRecipeMatcher matcher;
+
+        private ResolvedRecipe(AltarRecipe recipe) {
+            this.recipe = recipe;
+            var catalyst = CompiledIngredient.compile(recipe.getCatalyst());
+            catalystItems = catalyst.isExact() ? itemsOf(catalyst) : null;
+
+            var inputs = new CompiledIngredient[recipe.getInputs().size()];
+            var counts = new int[inputs.length];
+            inputItems = new LinkedHashSet<>();
+            var custom = false;
+            for (var i = 0; i < inputs.length; i++) {
+                inputs[i] = CompiledIngredient.compile(recipe.getInputs().get(i).ingredient());
+                counts[i] = recipe.getInputs().get(i).count();
+                if (inputs[i].isExact()) {
+                    inputItems.addAll(itemsOf(inputs[i]));
+                } else {
+                    custom = true;
+                }
+            }
+            customInputs = custom;
+            matcher = new AltarRecipeMatcher(catalyst, inputs, counts);
+        }
+
+        private static Set<Item> itemsOf(CompiledIngredient ingredient) {
+            Set<Item> items = new LinkedHashSet<>();
+            ingredient.itemIds().forEach(id -> items.add(Item.byId(id)));
+            return items;
+        }
+    }
+}
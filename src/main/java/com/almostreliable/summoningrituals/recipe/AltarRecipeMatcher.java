@@ -0,0 +1,57 @@
+package com.almostreliable.summoningrituals.recipe;
+
+import com.almostreliable.summoningrituals.core.ConsumptionPlan;
+import com.almostreliable.summoningrituals.core.RitualMatcher;
+import com.almostreliable.summoningrituals.inventory.AltarInvWrapper;
+import com.almostreliable.summoningrituals.recipe.component.IngredientStack;
+import net.minecraft.world.item.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Binds the {@link RitualMatcher} to item stacks and compiled recipe ingredients.
+ */
+public final class AltarRecipeMatcher {
+
+    private final CompiledIngredient catalyst;
+    private final RitualMatcher<ItemStack> matcher;
+
+    AltarRecipeMatcher(AltarRecipe recipe) {
+        this(
+            CompiledIngredient.compile(recipe.getCatalyst()),
+            recipe.getInputs().stream().map(input -> CompiledIngredient.compile(input.ingredient()))
+                .toArray(CompiledIngredient[]::new),
+            recipe.getInputs().stream().mapToInt(IngredientStack::count).toArray()
+        );
+    }
+
+    AltarRecipeMatcher(CompiledIngredient catalyst, CompiledIngredient[] inputs, int[] counts) {
+        this.catalyst = catalyst;
+        matcher = new RitualMatcher<>(ItemStackAccess.INSTANCE, catalyst, List.of(inputs), counts);
+    }
+
+    public boolean matches(AltarInvWrapper inv) {
+        return matches(inv.getCatalyst(), inv.getInputs());
+    }
+
+    public boolean matches(ItemStack catalystStack, List<ItemStack> stacks) {
+        return matcher.matches(catalystStack, stacks);
+    }
+
+    /**
+     * @see RitualMatcher#plan(List)
+     */
+    @Nullable
+    public ConsumptionPlan plan(List<ItemStack> stacks) {
+        return matcher.plan(stacks);
+    }
+
+    public CompiledIngredient getCatalyst() {
+        return catalyst;
+    }
+
+    public int getInputCount(int input) {
+        return matcher.getInputCount(input);
+    }
+}
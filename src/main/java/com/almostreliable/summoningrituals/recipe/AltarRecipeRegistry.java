@@ -0,0 +1,51 @@
+package com.almostreliable.summoningrituals.recipe;
+
+import com.almostreliable.summoningrituals.util.GameUtils;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the published {@link AltarRecipeIndex} of each logical side.
+ * <p>
+ * Indices are built completely before they are published with a single volatile write, so readers
+ * always see either the previous or the new index. The client builds its index from the synced recipes.
+ */
+public final class AltarRecipeRegistry {
+
+    private static final AtomicInteger GENERATIONS = new AtomicInteger();
+
+    @Nullable private static volatile AltarRecipeIndex serverIndex;
+    @Nullable private static volatile AltarRecipeIndex clientIndex;
+
+    private AltarRecipeRegistry() {}
+
+    public static AltarRecipeIndex get(@Nullable Level level) {
+        var clientSide = level == null ? ServerLifecycleHooks.getCurrentServer() == null : level.isClientSide;
+        var recipeManager = level == null ? GameUtils.getRecipeManager(null) : level.getRecipeManager();
+        var index = clientSide ? clientIndex : serverIndex;
+        if (index != null && index.getRecipeManager() == recipeManager) return index;
+        return rebuild(recipeManager, clientSide);
+    }
+
+    public static AltarRecipeIndex rebuild(RecipeManager recipeManager, boolean clientSide) {
+        var index = new AltarRecipeIndex(recipeManager, GENERATIONS.incrementAndGet());
+        if (clientSide) {
+            clientIndex = index;
+        } else {
+            serverIndex = index;
+        }
+        return index;
+    }
+
+    public static void invalidate(boolean clientSide) {
+        if (clientSide) {
+            clientIndex = null;
+        } else {
+            serverIndex = null;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.almostreliable.summoningrituals.recipe.component.IngredientStack;
 import com.almostreliable.summoningrituals.recipe.component.RecipeOutputs;
 import com.almostreliable.summoningrituals.recipe.component.RecipeSacrifices;
 import com.google.gson.JsonObject;
+import net.minecraft.core.Direction;
 import net.minecraft.core.NonNullList;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
@@ -22,7 +23,6 @@ public class AltarRecipeSerializer extends ForgeRegistryEntry<RecipeSerializer<?
     @Override
     public AltarRecipe fromJson(ResourceLocation recipeId, JsonObject json) {
         var catalyst = Ingredient.fromJson(json.getAsJsonObject(Constants.CATALYST));
-        AltarRecipe.CATALYST_CACHE.add(catalyst);
 
         var outputs = RecipeOutputs.fromJson(json.getAsJsonArray(Constants.OUTPUTS));
 
@@ -58,6 +58,15 @@ public class AltarRecipeSerializer extends ForgeRegistryEntry<RecipeSerializer<?
             GsonHelper.getAsString(json, Constants.WEATHER, WEATHER.ANY.name()).toUpperCase()
         );
 
+        Direction outputSink = null;
+        if (json.has(Constants.OUTPUT_SINK)) {
+            var sink = GsonHelper.getAsString(json, Constants.OUTPUT_SINK);
+            outputSink = Direction.byName(sink);
+            if (outputSink == null) {
+                throw new IllegalArgumentException("Invalid output sink: " + sink);
+            }
+        }
+
         return new AltarRecipe(
             recipeId,
             catalyst,
@@ -67,7 +76,8 @@ public class AltarRecipeSerializer extends ForgeRegistryEntry<RecipeSerializer<?
             recipeTime,
             blockBelow,
             dayTime,
-            weather
+            weather,
+            outputSink
         );
     }
 
@@ -99,6 +109,11 @@ public class AltarRecipeSerializer extends ForgeRegistryEntry<RecipeSerializer<?
         var dayTime = DAY_TIME.values()[buffer.readVarInt()];
         var weather = WEATHER.values()[buffer.readVarInt()];
 
+        Direction outputSink = null;
+        if (buffer.readBoolean()) {
+            outputSink = buffer.readEnum(Direction.class);
+        }
+
         return new AltarRecipe(
             recipeId,
             catalyst,
@@ -108,7 +123,8 @@ public class AltarRecipeSerializer extends ForgeRegistryEntry<RecipeSerializer<?
             recipeTime,
             blockBelow,
             dayTime,
-            weather
+            weather,
+            outputSink
         );
     }
 
@@ -141,5 +157,12 @@ public class AltarRecipeSerializer extends ForgeRegistryEntry<RecipeSerializer<?
 
         buffer.writeVarInt(recipe.getDayTime().ordinal());
         buffer.writeVarInt(recipe.getWeather().ordinal());
+
+        if (recipe.getOutputSink() != null) {
+            buffer.writeBoolean(true);
+            buffer.writeEnum(recipe.getOutputSink());
+        } else {
+            buffer.writeBoolean(false);
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.almostreliable.summoningrituals.recipe;
+
+import com.almostreliable.summoningrituals.core.RitualIngredient;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * An ingredient compiled against the currently bound tags.
+ * <p>
+ * Item and tag ingredients become a bitset over item registry ids. NBT-sensitive or custom ingredients
+ * can't be expressed that way and keep testing the original ingredient.
+ */
+public final class CompiledIngredient implements RitualIngredient<ItemStack> {
+
+    private final Ingredient ingredient;
+    @Nullable private final BitSet items;
+
+    private CompiledIngredient(Ingredient ingredient, @Nullable BitSet items) {
+        this.ingredient = ingredient;
+        this.items = items;
+    }
+
+    public static CompiledIngredient compile(Ingredient ingredient) {
+        if (!ingredient.isSimple()) return new CompiledIngredient(ingredient, null);
+        var items = new BitSet();
+        for (var stack : ingredient.getItems()) {
+            items.set(Item.getId(stack.getItem()));
+        }
+        return new CompiledIngredient(ingredient, items);
+    }
+
+    @Override
+    public boolean test(ItemStack stack) {
+        if (items == null) return ingredient.test(stack);
+        if (stack.isEmpty()) return items.isEmpty();
+        return items.get(Item.getId(stack.getItem()));
+    }
+
+    @Override
+    public boolean isExact() {
+        return items != null;
+    }
+
+    @Override
+    public IntStream itemIds() {
+        return items == null ? IntStream.empty() : items.stream();
+    }
+
+    public Ingredient getIngredient() {
+        return ingredient;
+    }
+}
@@ -0,0 +1,27 @@
+package com.almostreliable.summoningrituals.recipe;
+
+import com.almostreliable.summoningrituals.core.StackAccess;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Exposes {@link ItemStack}s to the ritual engine, items are identified by their registry id.
+ */
+public enum ItemStackAccess implements StackAccess<ItemStack> {
+    INSTANCE;
+
+    @Override
+    public boolean isEmpty(ItemStack stack) {
+        return stack.isEmpty();
+    }
+
+    @Override
+    public int getCount(ItemStack stack) {
+        return stack.getCount();
+    }
+
+    @Override
+    public int getItemId(ItemStack stack) {
+        return Item.getId(stack.getItem());
+    }
+}
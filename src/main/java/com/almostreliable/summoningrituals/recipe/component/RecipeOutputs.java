@@ -8,6 +8,7 @@ import com.almostreliable.summoningrituals.util.SerializeUtils;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.core.NonNullList;
 import net.minecraft.core.Vec3i;
 import net.minecraft.nbt.CompoundTag;
@@ -22,7 +23,7 @@ import net.minecraft.world.item.crafting.ShapedRecipe;
 import net.minecraft.world.phys.Vec3;
 import org.apache.logging.log4j.util.TriConsumer;
 
-import java.util.ArrayList;
+import javax.annotation.Nullable;
 import java.util.Objects;
 import java.util.Random;
 
@@ -78,16 +79,29 @@ public final class RecipeOutputs {
         outputs.add(output);
     }
 
-    public void handleRecipe(ServerLevel level, BlockPos origin) {
-        for (var output : outputs) {
-            output.spawn(level, origin);
-        }
-    }
-
     public int size() {
         return outputs.size();
     }
 
+    /**
+     * @return the number of entities the output spawns, see {@link #spawn(ServerLevel, BlockPos, int, int, Direction)}
+     */
+    public int getSpawnCount(int output) {
+        return outputs.get(output).getSpawnCount();
+    }
+
+    /**
+     * Spawns a single entity of an output. Outputs are spawned one entity at a time so spawning
+     * can be spread over multiple ticks.
+     *
+     * @param output the index of the output
+     * @param index  the index of the entity within the output, from 0 to {@link #getSpawnCount(int)}
+     * @param sink   the side of the inventory item outputs are inserted into, only the overflow is spawned
+     */
+    public void spawn(ServerLevel level, BlockPos origin, int output, int index, @Nullable Direction sink) {
+        outputs.get(output).spawn(level, origin, index, sink);
+    }
+
     public void forEach(TriConsumer<OutputType, RecipeOutput<?>, Integer> consumer) {
         for (var i = 0; i < outputs.size(); i++) {
             var output = outputs.get(i);
@@ -188,11 +202,15 @@ public final class RecipeOutputs {
             }
         }
 
+        /**
+         * Merges the custom data into the saved state of the entity itself, so every entity keeps its own
+         * random and per-instance state. The data is copied since loading may keep parts of it.
+         */
         void writeDataToEntity(Entity entity) {
             if (data.isEmpty()) return;
             var entityData = entity.serializeNBT();
             for (var prop : data.getAllKeys()) {
-                entityData.put(prop, Objects.requireNonNull(data.get(prop)));
+                entityData.put(prop, Objects.requireNonNull(data.get(prop)).copy());
             }
             entity.load(entityData);
         }
@@ -204,7 +222,9 @@ public final class RecipeOutputs {
             return MathUtils.shiftToCenter(origin).add(MathUtils.vectorFromPos(offset)).add(x, y, z);
         }
 
-        abstract void spawn(ServerLevel level, BlockPos origin);
+        abstract int getSpawnCount();
+
+        abstract void spawn(ServerLevel level, BlockPos origin, int index, @Nullable Direction sink);
 
         private OutputType getType() {
             return type;
@@ -223,22 +243,31 @@ public final class RecipeOutputs {
 
     private static final class ItemOutput extends RecipeOutput<ItemStack> {
 
-        private ItemOutput(ItemStack stack) {
+        private static final int ITEMS_PER_ENTITY = 4;
+
+        private final boolean stacked;
+
+        private ItemOutput(ItemStack stack, boolean stacked) {
             super(OutputType.ITEM, stack);
+            this.stacked = stacked;
         }
 
         private static ItemOutput fromJson(JsonObject json) {
             var stack = ShapedRecipe.itemStackFromJson(json);
-            return new ItemOutput(stack);
+            var stacked = GsonHelper.getAsBoolean(json, Constants.STACKED, false);
+            return new ItemOutput(stack, stacked);
         }
 
         private static ItemOutput fromNetwork(FriendlyByteBuf buffer) {
-            return new ItemOutput(buffer.readItem());
+            return new ItemOutput(buffer.readItem(), buffer.readBoolean());
         }
 
         @Override
         JsonObject toJson() {
             var json = SerializeUtils.stackToJson(output);
+            if (stacked) {
+                json.addProperty(Constants.STACKED, true);
+            }
             writeJsonDefaults(json);
             return json;
         }
@@ -247,26 +276,37 @@ public final class RecipeOutputs {
         void toNetwork(FriendlyByteBuf buffer) {
             buffer.writeVarInt(0);
             buffer.writeItem(output);
+            buffer.writeBoolean(stacked);
             super.toNetwork(buffer);
         }
 
+        /**
+         * Large outputs are scattered as small piles by default, stacked outputs spawn full stacks
+         * to keep the entity count down.
+         */
+        private int getItemsPerEntity() {
+            return stacked ? Math.max(1, output.getMaxStackSize()) : ITEMS_PER_ENTITY;
+        }
+
         @Override
-        void spawn(ServerLevel level, BlockPos origin) {
-            var count = getCount();
-            var stacks = new ArrayList<ItemStack>();
-            while (count > 0) {
-                var stack = output.copy();
-                stack.setCount(Math.min(count, 4));
-                stacks.add(stack);
-                count -= stack.getCount();
-            }
+        int getSpawnCount() {
+            var itemsPerEntity = getItemsPerEntity();
+            return (getCount() + itemsPerEntity - 1) / itemsPerEntity;
+        }
 
-            for (var stack : stacks) {
-                var pos = getRandomPos(origin);
-                var itemEntity = new ItemEntity(level, pos.x, pos.y, pos.z, stack);
-                writeDataToEntity(itemEntity);
-                GameUtils.spawnEntity(level, itemEntity);
+        @Override
+        void spawn(ServerLevel level, BlockPos origin, int index, @Nullable Direction sink) {
+            var itemsPerEntity = getItemsPerEntity();
+            var stack = output.copy();
+            stack.setCount(Math.min(getCount() - index * itemsPerEntity, itemsPerEntity));
+            if (sink != null) {
+                stack = GameUtils.insertIntoNeighbor(level, origin, sink, stack);
+                if (stack.isEmpty()) return;
             }
+            var pos = getRandomPos(origin);
+            var itemEntity = new ItemEntity(level, pos.x, pos.y, pos.z, stack);
+            writeDataToEntity(itemEntity);
+            GameUtils.spawnEntity(level, itemEntity);
         }
 
         @Override
@@ -316,14 +356,17 @@ public final class RecipeOutputs {
         }
 
         @Override
-        void spawn(ServerLevel level, BlockPos origin) {
-            for (var i = 0; i < count; i++) {
-                var mobEntity = output.create(level);
-                if (mobEntity == null) return;
-                writeDataToEntity(mobEntity);
-                mobEntity.setPos(getRandomPos(origin));
-                GameUtils.spawnEntity(level, mobEntity);
-            }
+        int getSpawnCount() {
+            return count;
+        }
+
+        @Override
+        void spawn(ServerLevel level, BlockPos origin, int index, @Nullable Direction sink) {
+            var mobEntity = output.create(level);
+            if (mobEntity == null) return;
+            writeDataToEntity(mobEntity);
+            mobEntity.setPos(getRandomPos(origin));
+            GameUtils.spawnEntity(level, mobEntity);
         }
 
         @Override
@@ -367,6 +410,7 @@ public final class RecipeOutputs {
     public static class ItemOutputBuilder extends RecipeOutputBuilder {
 
         private ItemStack stack;
+        private boolean stacked;
 
         public ItemOutputBuilder(ItemStack stack) {
             this.stack = stack;
@@ -377,9 +421,14 @@ public final class RecipeOutputs {
             return this;
         }
 
+        public ItemOutputBuilder stacked() {
+            stacked = true;
+            return this;
+        }
+
         @Override
         public ItemOutput build() {
-            var output = new ItemOutput(stack);
+            var output = new ItemOutput(stack, stacked);
             output.data = data;
             output.offset = offset;
             output.spread = spread;
@@ -2,6 +2,7 @@ package com.almostreliable.summoningrituals.recipe.component;
 
 import com.almostreliable.summoningrituals.Constants;
 import com.almostreliable.summoningrituals.util.Bruhtils;
+import com.almostreliable.summoningrituals.util.EntityScanCache;
 import com.almostreliable.summoningrituals.util.SerializeUtils;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -10,11 +11,20 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.NonNullList;
 import net.minecraft.core.Vec3i;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.DefaultAttributes;
 import net.minecraft.world.phys.AABB;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 public class RecipeSacrifices {
@@ -23,6 +33,8 @@ public class RecipeSacrifices {
 
     private final NonNullList<Sacrifice> sacrifices;
     private Vec3i region;
+    @Nullable private Map<EntityType<?>, int[]> byType;
+    @Nullable private Class<? extends Entity> baseClass;
 
     public RecipeSacrifices() {
         sacrifices = NonNullList.create();
@@ -77,6 +89,49 @@ public class RecipeSacrifices {
 
     public void add(EntityType<?> mob, int count) {
         sacrifices.add(new Sacrifice(mob, count));
+        byType = null;
+        baseClass = null;
+    }
+
+    /**
+     * Collects the entities to sacrifice in a single pass over the region. Entities are bucketed by type
+     * and every entity is used for one sacrifice at most. The visit stops once all sacrifices are satisfied.
+     * Entity lookups are shared with other altars within the same tick, see {@link EntityScanCache}.
+     *
+     * @param excluded an entity that can't be sacrificed, usually the invoking player
+     * @return the entities per sacrifice, matching the sacrifice order, or null if any sacrifice is not satisfied
+     */
+    @Nullable
+    public List<List<Entity>> findEntities(ServerLevel level, BlockPos pos, @Nullable Entity excluded) {
+        var collector = new Collector(excluded);
+        EntityScanCache.visit(level, getBaseClass(), getRegion(pos), collector);
+        return collector.missing == 0 ? collector.found : null;
+    }
+
+    private Map<EntityType<?>, int[]> getByType() {
+        if (byType == null) {
+            Map<EntityType<?>, int[]> types = new IdentityHashMap<>();
+            for (var i = 0; i < sacrifices.size(); i++) {
+                var indices = types.get(sacrifices.get(i).mob());
+                indices = indices == null ? new int[1] : Arrays.copyOf(indices, indices.length + 1);
+                indices[indices.length - 1] = i;
+                types.put(sacrifices.get(i).mob(), indices);
+            }
+            byType = types;
+        }
+        return byType;
+    }
+
+    /**
+     * Living entity types always have default attributes. If all sacrifices are living, entity sections
+     * only need to visit their living entities and items, orbs or projectiles are never looked at.
+     */
+    private Class<? extends Entity> getBaseClass() {
+        if (baseClass == null) {
+            baseClass = sacrifices.stream().allMatch(sacrifice -> DefaultAttributes.hasSupplier(sacrifice.mob())) ?
+                LivingEntity.class : Entity.class;
+        }
+        return baseClass;
     }
 
     public AABB getRegion(BlockPos pos) {
@@ -107,6 +162,43 @@ public class RecipeSacrifices {
         this.region = region;
     }
 
+    /**
+     * Buckets the visited entities, returns true once all sacrifices are satisfied.
+     */
+    private final class Collector implements Predicate<Entity> {
+
+        @Nullable private final Entity excluded;
+        private final Map<EntityType<?>, int[]> types;
+        private final List<List<Entity>> found;
+        private int missing;
+
+        private Collector(@Nullable Entity excluded) {
+            this.excluded = excluded;
+            types = getByType();
+            found = new ArrayList<>(sacrifices.size());
+            for (var sacrifice : sacrifices) {
+                found.add(new ArrayList<>(sacrifice.count()));
+                missing += sacrifice.count();
+            }
+        }
+
+        @Override
+        public boolean test(Entity entity) {
+            if (entity == excluded || !entity.isAlive() || entity.isSpectator()) return false;
+            var candidates = types.get(entity.getType());
+            if (candidates == null) return false;
+            for (var i : candidates) {
+                var entities = found.get(i);
+                if (entities.size() < sacrifices.get(i).count()) {
+                    entities.add(entity);
+                    missing--;
+                    return missing == 0;
+                }
+            }
+            return false;
+        }
+    }
+
     public record Sacrifice(EntityType<?> mob, int count) implements Predicate<Entity> {
 
         private static Sacrifice fromJson(JsonObject json) {
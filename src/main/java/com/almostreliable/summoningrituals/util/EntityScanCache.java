@@ -0,0 +1,122 @@
+package com.almostreliable.summoningrituals.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.entity.EntityTypeTest;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Caches entity lookups per level, entity class and chunk section for the duration of a server tick.
+ * <p>
+ * Altars close to each other query overlapping regions. With the cache, every section is only walked
+ * once per tick, no matter how many altars look into it. Entities are stored in the section of their
+ * position, so every entity is visited once per query. The cache is cleared at the end of the server tick,
+ * entities that die in between are still cached and have to be checked by the caller.
+ */
+public final class EntityScanCache {
+
+    // same margin the vanilla entity section storage uses to catch entities with large bounding boxes
+    private static final double SECTION_MARGIN = 2;
+
+    private static final Map<ServerLevel, Map<Class<? extends Entity>, Long2ObjectMap<List<Entity>>>> CACHE =
+        new IdentityHashMap<>();
+
+    private EntityScanCache() {}
+
+    /**
+     * Visits the entities of the given class intersecting the region.
+     *
+     * @param visitor returns true to stop the visit
+     */
+    public static void visit(
+        ServerLevel level, Class<? extends Entity> baseClass, AABB region, Predicate<Entity> visitor
+    ) {
+        var sections = CACHE.computeIfAbsent(level, l -> new IdentityHashMap<>())
+            .computeIfAbsent(baseClass, c -> new Long2ObjectOpenHashMap<>());
+
+        var from = SectionPos.of(
+            SectionPos.posToSectionCoord(region.minX - SECTION_MARGIN),
+            SectionPos.posToSectionCoord(region.minY - SECTION_MARGIN),
+            SectionPos.posToSectionCoord(region.minZ - SECTION_MARGIN)
+        );
+        var to = SectionPos.of(
+            SectionPos.posToSectionCoord(region.maxX + SECTION_MARGIN),
+            SectionPos.posToSectionCoord(region.maxY + SECTION_MARGIN),
+            SectionPos.posToSectionCoord(region.maxZ + SECTION_MARGIN)
+        );
+        scanMissing(level, baseClass, sections, from, to);
+
+        for (var x = from.x(); x <= to.x(); x++) {
+            for (var z = from.z(); z <= to.z(); z++) {
+                for (var y = from.y(); y <= to.y(); y++) {
+                    for (var entity : sections.get(SectionPos.asLong(x, y, z))) {
+                        if (entity.getBoundingBox().intersects(region) && visitor.test(entity)) return;
+                    }
+                }
+            }
+        }
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    public static void unload(LevelAccessor level) {
+        if (level instanceof ServerLevel serverLevel) CACHE.remove(serverLevel);
+    }
+
+    /**
+     * Fills all sections of the range that are not cached yet with a single lookup over their bounds.
+     * Entities are assigned to the section of their position, entities of cached sections are dropped.
+     */
+    private static void scanMissing(
+        ServerLevel level, Class<? extends Entity> baseClass, Long2ObjectMap<List<Entity>> sections,
+        SectionPos from, SectionPos to
+    ) {
+        Long2ObjectMap<List<Entity>> missing = new Long2ObjectOpenHashMap<>();
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (var x = from.x(); x <= to.x(); x++) {
+            for (var z = from.z(); z <= to.z(); z++) {
+                for (var y = from.y(); y <= to.y(); y++) {
+                    var section = SectionPos.asLong(x, y, z);
+                    if (sections.containsKey(section)) continue;
+                    missing.put(section, new ArrayList<>());
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    minZ = Math.min(minZ, z);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                    maxZ = Math.max(maxZ, z);
+                }
+            }
+        }
+        if (missing.isEmpty()) return;
+
+        var area = new AABB(
+            SectionPos.sectionToBlockCoord(minX),
+            SectionPos.sectionToBlockCoord(minY),
+            SectionPos.sectionToBlockCoord(minZ),
+            SectionPos.sectionToBlockCoord(maxX + 1),
+            SectionPos.sectionToBlockCoord(maxY + 1),
+            SectionPos.sectionToBlockCoord(maxZ + 1)
+        );
+        // the predicate distributes while visiting and rejects everything, so no result list is built
+        level.getEntities(EntityTypeTest.forClass(baseClass), area, entity -> {
+            var entities = missing.get(SectionPos.asLong(entity.blockPosition()));
+            if (entities != null) entities.add(entity);
+            return false;
+        });
+        sections.putAll(missing);
+    }
+}
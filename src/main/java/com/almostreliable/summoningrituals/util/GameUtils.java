@@ -3,6 +3,7 @@ package com.almostreliable.summoningrituals.util;
 import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.entity.Entity;
@@ -10,6 +11,8 @@ import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.level.Level;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
 import net.minecraftforge.server.ServerLifecycleHooks;
 
 import javax.annotation.Nullable;
@@ -37,6 +40,22 @@ public final class GameUtils {
         ));
     }
 
+    /**
+     * Inserts the stack into the item handler of the neighbor on the given side.
+     * Neighbors in unloaded chunks are skipped instead of loading them.
+     *
+     * @return the part of the stack that didn't fit
+     */
+    public static ItemStack insertIntoNeighbor(Level level, BlockPos pos, Direction side, ItemStack stack) {
+        var targetPos = pos.relative(side);
+        if (!level.isLoaded(targetPos)) return stack;
+        var target = level.getBlockEntity(targetPos);
+        if (target == null) return stack;
+        return target.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, side.getOpposite())
+            .map(handler -> ItemHandlerHelper.insertItemStacked(handler, stack, false))
+            .orElse(stack);
+    }
+
     public static void spawnEntity(Level level, Entity entity) {
         level.addFreshEntity(entity);
     }
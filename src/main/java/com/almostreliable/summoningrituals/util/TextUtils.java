@@ -42,6 +42,10 @@ public final class TextUtils {
         return color.length == 0 ? output : (TranslatableComponent) output.withStyle(color[0]);
     }
 
+    public static TranslatableComponent translateWithArgs(String type, String key, Object... args) {
+        return new TranslatableComponent(getTranslationKey(type, key), args);
+    }
+
     public static void sendPlayerMessage(
         @Nullable Player player, String translationKey, ChatFormatting color, Object... args
     ) {
@@ -0,0 +1,125 @@
+package com.almostreliable.summoningrituals.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InsertJournalTest {
+
+    private static void assertEntries(InsertJournal journal, int... slotsAndCounts) {
+        assertEquals(slotsAndCounts.length / 2, journal.size());
+        for (var i = 0; i < journal.size(); i++) {
+            assertEquals(slotsAndCounts[i * 2], journal.getSlot(i), "slot of entry " + i);
+            assertEquals(slotsAndCounts[i * 2 + 1], journal.getCount(i), "count of entry " + i);
+        }
+    }
+
+    @Test
+    void testPushAddsNewestFirst() {
+        var journal = new InsertJournal();
+        journal.push(0, 10);
+        journal.push(1, 11);
+        journal.push(2, 12);
+
+        assertEntries(journal, 2, 12, 1, 11, 0, 10);
+    }
+
+    @Test
+    void testAppendAddsOldestLast() {
+        var journal = new InsertJournal();
+        journal.append(0, 10);
+        journal.append(1, 11);
+        journal.push(2, 12);
+
+        assertEntries(journal, 2, 12, 0, 10, 1, 11);
+    }
+
+    @Test
+    void testPopRemovesNewest() {
+        var journal = new InsertJournal();
+        journal.push(0, 10);
+        journal.push(1, 11);
+        journal.pop();
+
+        assertEntries(journal, 0, 10);
+        journal.pop();
+        assertTrue(journal.isEmpty());
+        assertThrows(IllegalStateException.class, journal::pop);
+    }
+
+    @Test
+    void testPushWrapsAround() {
+        var journal = new InsertJournal();
+        // the head moves backwards from index 0, so pushes wrap around right away
+        for (var i = 0; i < 8; i++) {
+            journal.push(i, i + 100);
+        }
+        for (var i = 0; i < 5; i++) {
+            journal.pop();
+        }
+        for (var i = 8; i < 13; i++) {
+            journal.push(i, i + 100);
+        }
+
+        assertEntries(journal, 12, 112, 11, 111, 10, 110, 9, 109, 8, 108, 2, 102, 1, 101, 0, 100);
+    }
+
+    @Test
+    void testGrowthKeepsOrderWhenWrapped() {
+        var journal = new InsertJournal();
+        journal.append(0, 100);
+        journal.append(1, 101);
+        for (var i = 2; i < 20; i++) {
+            journal.push(i, i + 100);
+        }
+
+        assertEquals(20, journal.size());
+        for (var i = 0; i < 18; i++) {
+            assertEquals(19 - i, journal.getSlot(i));
+            assertEquals(119 - i, journal.getCount(i));
+        }
+        assertEquals(0, journal.getSlot(18));
+        assertEquals(1, journal.getSlot(19));
+        assertEquals(101, journal.getCount(19));
+    }
+
+    @Test
+    void testRemoveSlotShiftsFollowingSlots() {
+        var journal = new InsertJournal();
+        journal.push(0, 10);
+        journal.push(2, 12);
+        journal.push(1, 11);
+        journal.push(3, 13);
+        journal.push(1, 21);
+        journal.removeSlot(1);
+
+        assertEntries(journal, 2, 13, 1, 12, 0, 10);
+    }
+
+    @Test
+    void testRemoveSlotWhenWrapped() {
+        var journal = new InsertJournal();
+        for (var i = 0; i < 6; i++) {
+            journal.append(i % 3, i);
+        }
+        journal.push(4, 6);
+        journal.push(5, 7);
+        journal.removeSlot(0);
+
+        assertEntries(journal, 4, 7, 3, 6, 0, 1, 1, 2, 0, 4, 1, 5);
+    }
+
+    @Test
+    void testClear() {
+        var journal = new InsertJournal();
+        journal.push(0, 10);
+        journal.push(1, 11);
+        journal.clear();
+
+        assertTrue(journal.isEmpty());
+        journal.push(2, 12);
+        assertEntries(journal, 2, 12);
+    }
+}
@@ -0,0 +1,138 @@
+package com.almostreliable.summoningrituals.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RitualMatcherTest {
+
+    private static final TestStack CATALYST = new TestStack(0, 1);
+    private static final TestStack EMPTY = new TestStack(0, 0);
+
+    private static RitualMatcher<TestStack> matcher(List<TestIngredient> inputs, int... counts) {
+        return new RitualMatcher<>(TestStack.ACCESS, TestIngredient.exact(0), inputs, counts);
+    }
+
+    @Test
+    void testReassignsSlotClaimedByWiderIngredient() {
+        // the first input accepts both items and claims the first slot, the second input only accepts that slot
+        var matcher = matcher(List.of(TestIngredient.exact(1, 2), TestIngredient.exact(1)), 1, 1);
+        var stacks = List.of(new TestStack(1, 1), new TestStack(2, 1));
+
+        assertTrue(matcher.matches(CATALYST, stacks));
+        assertArrayEquals(new int[]{1, 0}, matcher.assign(stacks));
+    }
+
+    @Test
+    void testReassignsSlotClaimedByCustomIngredient() {
+        var matcher = matcher(List.of(TestIngredient.custom(item -> item > 0), TestIngredient.exact(1)), 1, 1);
+        var stacks = List.of(new TestStack(1, 1), new TestStack(2, 1));
+
+        assertArrayEquals(new int[]{1, 0}, matcher.assign(stacks));
+    }
+
+    @Test
+    void testSingleStackDoesNotSatisfyTwoInputs() {
+        var matcher = matcher(List.of(TestIngredient.exact(1), TestIngredient.exact(1)), 1, 1);
+
+        assertNull(matcher.assign(List.of(new TestStack(1, 2), EMPTY)));
+        assertArrayEquals(new int[]{1, 0}, matcher.assign(List.of(new TestStack(1, 1), new TestStack(1, 1))));
+    }
+
+    @Test
+    void testCountDecidesAssignment() {
+        // both stacks hold the same item, only the larger one can pay for the first input
+        var matcher = matcher(List.of(TestIngredient.exact(1), TestIngredient.exact(1)), 4, 1);
+        var stacks = List.of(new TestStack(1, 1), new TestStack(1, 4));
+
+        assertArrayEquals(new int[]{1, 0}, matcher.assign(stacks));
+        assertNull(matcher.assign(List.of(new TestStack(1, 3), new TestStack(1, 3))));
+    }
+
+    @Test
+    void testPlanTakesRequiredCountFromAssignedSlot() {
+        var matcher = matcher(List.of(TestIngredient.exact(1, 2), TestIngredient.exact(1)), 2, 3);
+        var plan = matcher.plan(List.of(new TestStack(1, 5), new TestStack(2, 7)));
+
+        assertNotNull(plan);
+        assertEquals(2, plan.size());
+        assertEquals(1, plan.getSlot(0));
+        assertEquals(2, plan.getAmount(0));
+        assertEquals(0, plan.getSlot(1));
+        assertEquals(3, plan.getAmount(1));
+    }
+
+    @Test
+    void testFailureLeavesStacksUntouched() {
+        var matcher = matcher(List.of(TestIngredient.exact(1), TestIngredient.exact(2)), 2, 2);
+        var stacks = List.of(new TestStack(1, 2), new TestStack(2, 1));
+        var before = List.copyOf(stacks);
+
+        assertNull(matcher.plan(stacks));
+        assertFalse(matcher.matches(CATALYST, stacks));
+        assertEquals(before, stacks);
+    }
+
+    @Test
+    void testFailureDoesNotLeakIntoNextAttempt() {
+        var matcher = matcher(List.of(TestIngredient.exact(1), TestIngredient.exact(2)), 1, 1);
+
+        // a larger failed attempt leaves assignments behind in the reused workspace
+        List<TestStack> large = new ArrayList<>();
+        for (var i = 0; i < 10; i++) {
+            large.add(new TestStack(1, 1));
+        }
+        assertNull(matcher.assign(large));
+
+        assertArrayEquals(new int[]{1, 0}, matcher.assign(List.of(new TestStack(2, 1), new TestStack(1, 1))));
+        assertNull(matcher.assign(List.of(new TestStack(1, 1), new TestStack(1, 1))));
+    }
+
+    @Test
+    void testWorkspaceIsSharedBetweenMatchers() {
+        var small = matcher(List.of(TestIngredient.exact(1)), 1);
+        var wide = matcher(
+            IntStream.range(1, 71).mapToObj(TestIngredient::exact).toList(),
+            IntStream.range(1, 71).map(i -> 1).toArray()
+        );
+        List<TestStack> stacks = new ArrayList<>();
+        for (var item = 70; item > 0; item--) {
+            stacks.add(new TestStack(item, 1));
+        }
+
+        assertNull(small.assign(List.of(new TestStack(2, 1))));
+        var assignment = wide.assign(stacks);
+        assertNotNull(assignment);
+        for (var input = 0; input < 70; input++) {
+            assertEquals(69 - input, assignment[input]);
+        }
+        assertArrayEquals(new int[]{0}, small.assign(List.of(new TestStack(1, 1))));
+    }
+
+    @Test
+    void testMatchesRequiresCatalystAndExactSlotCount() {
+        var matcher = matcher(List.of(TestIngredient.exact(1)), 1);
+        var stacks = List.of(new TestStack(1, 1));
+
+        assertTrue(matcher.matches(CATALYST, stacks));
+        assertFalse(matcher.matches(EMPTY, stacks));
+        assertFalse(matcher.matches(new TestStack(1, 1), stacks));
+        assertFalse(matcher.matches(CATALYST, List.of(new TestStack(1, 1), EMPTY)));
+        assertArrayEquals(new int[]{1}, matcher.assign(List.of(EMPTY, new TestStack(1, 1))));
+    }
+
+    @Test
+    void testRejectsMismatchedCounts() {
+        assertThrows(IllegalArgumentException.class, () -> matcher(List.of(TestIngredient.exact(1)), 1, 1));
+    }
+}
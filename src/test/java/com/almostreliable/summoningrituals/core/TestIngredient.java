@@ -0,0 +1,38 @@
+package com.almostreliable.summoningrituals.core;
+
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * An ingredient over {@link TestStack} items, either exact with a fixed set of items or custom with a predicate.
+ */
+record TestIngredient(BitSet items, IntPredicate custom) implements RitualIngredient<TestStack> {
+
+    static TestIngredient exact(int... items) {
+        var bits = new BitSet();
+        for (var item : items) {
+            bits.set(item);
+        }
+        return new TestIngredient(bits, bits::get);
+    }
+
+    static TestIngredient custom(IntPredicate predicate) {
+        return new TestIngredient(new BitSet(), predicate);
+    }
+
+    @Override
+    public boolean test(TestStack stack) {
+        return custom.test(stack.item());
+    }
+
+    @Override
+    public boolean isExact() {
+        return !items.isEmpty();
+    }
+
+    @Override
+    public IntStream itemIds() {
+        return items.stream();
+    }
+}
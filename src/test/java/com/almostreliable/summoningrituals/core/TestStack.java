@@ -0,0 +1,24 @@
+package com.almostreliable.summoningrituals.core;
+
+/**
+ * A synthetic stack for driving the core without any game classes, shared by the tests and benchmarks.
+ */
+record TestStack(int item, int count) {
+
+    static final StackAccess<TestStack> ACCESS = new StackAccess<>() {
+        @Override
+        public boolean isEmpty(TestStack stack) {
+            return stack.count <= 0;
+        }
+
+        @Override
+        public int getCount(TestStack stack) {
+            return stack.count;
+        }
+
+        @Override
+        public int getItemId(TestStack stack) {
+            return stack.item;
+        }
+    };
+}
@@ -0,0 +1,72 @@
+package com.almostreliable.summoningrituals.inventory;
+
+import com.almostreliable.summoningrituals.Constants;
+import com.almostreliable.summoningrituals.core.InsertJournal;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the adapter side of the insert journal. Unlike the core tests, these need the Minecraft
+ * classes on the test classpath, but no bootstrapped registries.
+ */
+class AltarInventoryTest {
+
+    private static CompoundTag legacyEntry(int slot, String item, int count) {
+        // a stack as written by ItemStack#save plus the slot it went into
+        var tag = new CompoundTag();
+        tag.putString("id", item);
+        tag.putByte("Count", (byte) count);
+        tag.putInt(Constants.SLOT, slot);
+        return tag;
+    }
+
+    @Test
+    void testReadsLegacyInsertOrder() {
+        var insertList = new ListTag();
+        insertList.add(legacyEntry(2, "minecraft:diamond", 3));
+        insertList.add(legacyEntry(0, "minecraft:stone", 64));
+        insertList.add(legacyEntry(2, "minecraft:diamond", 1));
+        var tag = new CompoundTag();
+        tag.put(Constants.INSERT_ORDER, insertList);
+
+        var journal = new InsertJournal();
+        journal.push(5, 5);
+        AltarInventory.readInsertOrder(tag, journal);
+
+        assertEquals(3, journal.size());
+        assertEquals(2, journal.getSlot(0));
+        assertEquals(3, journal.getCount(0));
+        assertEquals(0, journal.getSlot(1));
+        assertEquals(64, journal.getCount(1));
+        assertEquals(2, journal.getSlot(2));
+        assertEquals(1, journal.getCount(2));
+    }
+
+    @Test
+    void testReadsInsertOrder() {
+        var tag = new CompoundTag();
+        tag.putIntArray(Constants.INSERT_ORDER, new int[]{1, 4, 0, 16});
+
+        var journal = new InsertJournal();
+        AltarInventory.readInsertOrder(tag, journal);
+
+        assertEquals(2, journal.size());
+        assertEquals(1, journal.getSlot(0));
+        assertEquals(4, journal.getCount(0));
+        assertEquals(0, journal.getSlot(1));
+        assertEquals(16, journal.getCount(1));
+    }
+
+    @Test
+    void testReadsMissingInsertOrder() {
+        var journal = new InsertJournal();
+        journal.push(0, 1);
+        AltarInventory.readInsertOrder(new CompoundTag(), journal);
+
+        assertTrue(journal.isEmpty());
+    }
+}